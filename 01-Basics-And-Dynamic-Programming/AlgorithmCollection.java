@@ -1,3 +1,14 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Collection of fundamental algorithmic problems.
  * Highlights include Dynamic Programming for the Subset Sum problem.
@@ -15,6 +26,199 @@ public class AlgorithmCollection {
         public double getY() { return y; }
     }
 
+    /**
+     * Struct-of-arrays storage for many 2D points.
+     * Coordinates live in two primitive arrays, so point i costs 16 bytes
+     * and scans run over contiguous memory instead of chasing Point references.
+     * <p>
+     * Binary file format: little-endian doubles x0, y0, x1, y1, ... (16 bytes per point).
+     */
+    public static class PointSet {
+        /** Largest region mapped at once; a multiple of 16 so no point straddles two regions. */
+        private static final long MAP_CHUNK_BYTES = 1L << 30;
+
+        final double[] xs, ys;
+        private final int size;
+
+        /**
+         * Wraps the given coordinate arrays (no copy).
+         */
+        public PointSet(double[] xs, double[] ys) {
+            if (xs.length != ys.length) {
+                throw new IllegalArgumentException("Coordinate arrays differ in length: " + xs.length + " vs " + ys.length);
+            }
+            this.xs = xs;
+            this.ys = ys;
+            this.size = xs.length;
+        }
+
+        /**
+         * Copies the coordinates of the given points.
+         */
+        public static PointSet of(Point[] points) {
+            double[] xs = new double[points.length];
+            double[] ys = new double[points.length];
+            for (int i = 0; i < points.length; i++) {
+                xs[i] = points[i].x;
+                ys[i] = points[i].y;
+            }
+            return new PointSet(xs, ys);
+        }
+
+        /**
+         * Loads a point file via memory mapping, reading the doubles straight into the coordinate arrays.
+         * No Point objects are created.
+         */
+        public static PointSet load(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long bytes = channel.size();
+                if (bytes % 16 != 0 || bytes / 16 > Integer.MAX_VALUE - 8) {
+                    throw new IOException("Not a point file (" + bytes + " bytes): " + file);
+                }
+                int n = (int) (bytes / 16);
+                double[] xs = new double[n];
+                double[] ys = new double[n];
+
+                int index = 0;
+                for (long offset = 0; offset < bytes; offset += MAP_CHUNK_BYTES) {
+                    long length = Math.min(MAP_CHUNK_BYTES, bytes - offset);
+                    MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                    DoubleBuffer doubles = region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                    while (doubles.hasRemaining()) {
+                        xs[index] = doubles.get();
+                        ys[index] = doubles.get();
+                        index++;
+                    }
+                }
+                return new PointSet(xs, ys);
+            }
+        }
+
+        /**
+         * Writes the points in the format read by {@link #load(Path)}.
+         */
+        public void save(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long bytes = 16L * size;
+                int index = 0;
+                for (long offset = 0; offset < bytes; offset += MAP_CHUNK_BYTES) {
+                    long length = Math.min(MAP_CHUNK_BYTES, bytes - offset);
+                    MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, offset, length);
+                    DoubleBuffer doubles = region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                    while (doubles.hasRemaining()) {
+                        doubles.put(xs[index]);
+                        doubles.put(ys[index]);
+                        index++;
+                    }
+                    region.force();
+                }
+            }
+        }
+
+        public int size() { return size; }
+        public double getX(int i) { return xs[i]; }
+        public double getY(int i) { return ys[i]; }
+
+        /**
+         * Squared Euclidean distance between points i and j.
+         */
+        public double distanceSq(int i, int j) {
+            double dx = xs[i] - xs[j];
+            double dy = ys[i] - ys[j];
+            return (dx * dx) + (dy * dy);
+        }
+    }
+
+    /**
+     * Precomputed Subset Sum reachability for all targets up to a fixed maximum.
+     * Built once with the bitset DP, after which every target query is a single bit test.
+     * Numbers can be added later without a rebuild (one shifted OR each).
+     * <p>
+     * An index is meant to be filled by one thread. {@link #snapshot()} returns an
+     * immutable copy that can be shared read-only across threads.
+     */
+    public static class SubsetSumIndex {
+        private final int maxTarget;
+        private final long[] reachable;
+        private final boolean frozen;
+
+        /**
+         * Creates an index containing only the empty set (sum 0).
+         */
+        public SubsetSumIndex(int maxTarget) {
+            if (maxTarget < 0) {
+                throw new IllegalArgumentException("maxTarget must be non-negative: " + maxTarget);
+            }
+            this.maxTarget = maxTarget;
+            this.reachable = new long[(maxTarget >>> 6) + 1];
+            this.reachable[0] = 1L;
+            this.frozen = false;
+        }
+
+        /**
+         * Creates an index for the given numbers.
+         * Time Complexity: O(n * maxTarget / 64)
+         */
+        public SubsetSumIndex(int maxTarget, int[] numbers) {
+            this(maxTarget);
+            addAll(numbers);
+        }
+
+        private SubsetSumIndex(SubsetSumIndex source) {
+            this.maxTarget = source.maxTarget;
+            this.reachable = source.reachable.clone();
+            this.frozen = true;
+        }
+
+        /**
+         * Adds one more number to the set without rebuilding the index.
+         * Time Complexity: O(maxTarget / 64)
+         */
+        public void add(int number) {
+            if (frozen) {
+                throw new IllegalStateException("Snapshot is read-only");
+            }
+            if (number <= 0 || number > maxTarget) return; // Cannot create a new sum <= maxTarget
+            orShifted(reachable, number, maxTarget);
+        }
+
+        public void addAll(int[] numbers) {
+            for (int number : numbers) {
+                add(number);
+            }
+        }
+
+        /**
+         * Checks whether some subset of the added numbers sums up to target.
+         * Time Complexity: O(1)
+         */
+        public boolean isReachable(int target) {
+            if (target < 0 || target > maxTarget) return false;
+            return isBitSet(reachable, target);
+        }
+
+        /**
+         * Answers a batch of queries: results[i] is set to isReachable(targets[i]).
+         */
+        public void isReachable(int[] targets, boolean[] results) {
+            for (int i = 0; i < targets.length; i++) {
+                results[i] = isReachable(targets[i]);
+            }
+        }
+
+        /**
+         * Returns an immutable copy of the current state.
+         * All fields are final and the copy is never written again, so it can be
+         * published to other threads without further synchronization.
+         */
+        public SubsetSumIndex snapshot() {
+            return frozen ? this : new SubsetSumIndex(this);
+        }
+
+        public int getMaxTarget() { return maxTarget; }
+    }
+
     /**
      * Finds the maximum integer in an array.
      * Time Complexity: O(n)
@@ -33,6 +237,185 @@ public class AlgorithmCollection {
         return max;
     }
 
+    // --- Reductions over large arrays ---
+
+    /** Ranges smaller than this are reduced sequentially by a single fork-join task. */
+    private static final int REDUCTION_CHUNK = 1 << 16;
+
+    /**
+     * Result holder for {@link #summarize(int[], ArrayStats)}.
+     * Callers pass in a reusable instance so repeated reductions do not allocate.
+     */
+    public static class ArrayStats {
+        int min, max, argMax;
+        long sum;
+
+        public int getMin() { return min; }
+        public int getMax() { return max; }
+        /** Index of the first occurrence of the maximum, or -1 for an empty array. */
+        public int getArgMax() { return argMax; }
+        public long getSum() { return sum; }
+    }
+
+    /**
+     * Parallel variant of {@link #findMax(int[])} for very large arrays.
+     * Splits the array into chunks that are scanned on the common fork-join pool.
+     * Time Complexity: O(n / p)
+     */
+    public int findMaxParallel(int[] numbers) {
+        if (numbers == null || numbers.length == 0) {
+            return 0;
+        }
+        if (numbers.length < REDUCTION_CHUNK) {
+            return findMax(numbers);
+        }
+        ReductionTask task = new ReductionTask(numbers, 0, numbers.length, true);
+        ForkJoinPool.commonPool().invoke(task);
+        return task.max;
+    }
+
+    /**
+     * Computes min, max, sum and argmax in a single pass.
+     * Time Complexity: O(n)
+     * * @param numbers The array to scan.
+     * @param out Reusable result holder (overwritten).
+     * @return out, for chaining. An empty array yields 0 for all values and argMax -1.
+     */
+    public ArrayStats summarize(int[] numbers, ArrayStats out) {
+        if (numbers == null || numbers.length == 0) {
+            out.min = 0;
+            out.max = 0;
+            out.sum = 0;
+            out.argMax = -1;
+            return out;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int argMax = 0;
+        long sum = 0;
+        for (int i = 0; i < numbers.length; i++) {
+            int number = numbers[i];
+            sum += number;
+            if (number < min) {
+                min = number;
+            }
+            if (number > max) {
+                max = number;
+                argMax = i;
+            }
+        }
+        out.min = min;
+        out.max = max;
+        out.argMax = argMax;
+        out.sum = sum;
+        return out;
+    }
+
+    /**
+     * Parallel variant of {@link #summarize(int[], ArrayStats)}.
+     * Partial results are combined so that argMax still refers to the first maximum.
+     */
+    public ArrayStats summarizeParallel(int[] numbers, ArrayStats out) {
+        if (numbers == null || numbers.length < REDUCTION_CHUNK) {
+            return summarize(numbers, out);
+        }
+        ReductionTask task = new ReductionTask(numbers, 0, numbers.length, false);
+        ForkJoinPool.commonPool().invoke(task);
+        task.copyTo(out);
+        return out;
+    }
+
+    /**
+     * Fork-join reduction over numbers[low, high).
+     * Results are kept in primitive fields, so combining partial results does not box.
+     */
+    private static final class ReductionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] numbers;
+        private final int low;
+        private final int high;
+        private final boolean maxOnly;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int argMax = -1;
+        long sum;
+
+        ReductionTask(int[] numbers, int low, int high, boolean maxOnly) {
+            this.numbers = numbers;
+            this.low = low;
+            this.high = high;
+            this.maxOnly = maxOnly;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= REDUCTION_CHUNK) {
+                if (maxOnly) {
+                    scanMax();
+                } else {
+                    scanStats();
+                }
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            ReductionTask left = new ReductionTask(numbers, low, mid, maxOnly);
+            ReductionTask right = new ReductionTask(numbers, mid, high, maxOnly);
+            invokeAll(left, right);
+
+            min = Math.min(left.min, right.min);
+            sum = left.sum + right.sum;
+            // Ties go to the left half to keep the first occurrence
+            if (right.max > left.max) {
+                max = right.max;
+                argMax = right.argMax;
+            } else {
+                max = left.max;
+                argMax = left.argMax;
+            }
+        }
+
+        private void scanMax() {
+            int localMax = Integer.MIN_VALUE;
+            for (int i = low; i < high; i++) {
+                if (numbers[i] > localMax) {
+                    localMax = numbers[i];
+                }
+            }
+            max = localMax;
+        }
+
+        private void scanStats() {
+            int localMin = Integer.MAX_VALUE;
+            int localMax = Integer.MIN_VALUE;
+            int localArgMax = low;
+            long localSum = 0;
+            for (int i = low; i < high; i++) {
+                int number = numbers[i];
+                localSum += number;
+                if (number < localMin) {
+                    localMin = number;
+                }
+                if (number > localMax) {
+                    localMax = number;
+                    localArgMax = i;
+                }
+            }
+            min = localMin;
+            max = localMax;
+            argMax = localArgMax;
+            sum = localSum;
+        }
+
+        private void copyTo(ArrayStats out) {
+            out.min = min;
+            out.max = max;
+            out.argMax = argMax;
+            out.sum = sum;
+        }
+    }
+
     /**
      * Finds the closest pair of points in a 2D plane using a Brute-Force approach.
      * Time Complexity: O(n^2)
@@ -61,6 +444,311 @@ public class AlgorithmCollection {
         return result;
     }
 
+    /**
+     * Brute-force closest pair on primitive coordinates.
+     * Time Complexity: O(n^2)
+     * * @param points The point set to check.
+     * @return The indices of the closest pair, or null for fewer than 2 points.
+     */
+    public int[] findClosestPair(PointSet points) {
+        if (points == null || points.size() < 2) return null;
+
+        int[] result = { 0, 1 };
+        double minDistanceSq = points.distanceSq(0, 1);
+
+        for (int i = 0; i < points.size() - 1; i++) {
+            for (int j = i + 1; j < points.size(); j++) {
+                double currentDistSq = points.distanceSq(i, j);
+                if (currentDistSq < minDistanceSq) {
+                    minDistanceSq = currentDistSq;
+                    result[0] = i;
+                    result[1] = j;
+                }
+            }
+        }
+        return result;
+    }
+
+    // --- Closest Pair: Divide and Conquer ---
+
+    /** Below this size the recursion falls back to brute force. */
+    private static final int BRUTE_FORCE_THRESHOLD = 3;
+
+    /** Above this size the two halves are solved as separate fork-join tasks. */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Finds the closest pair of points using the classic Divide and Conquer algorithm.
+     * Points are sorted by x once; each recursion level merges its halves by y so that
+     * the strip around the dividing line can be scanned in linear time.
+     * Above a size threshold both halves are solved in parallel on the common fork-join pool.
+     * Time Complexity: O(n log n)
+     * Space Complexity: O(n)
+     * * @param points Array of points to check (not modified).
+     * @return A Point array of size 2 containing the closest pair, or null for fewer than 2 points.
+     */
+    public Point[] findClosestPairDivideAndConquer(Point[] points) {
+        return findClosestPairDivideAndConquer(points, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #findClosestPairDivideAndConquer(Point[])}, but runs the parallel
+     * part of the recursion on the given pool.
+     */
+    public Point[] findClosestPairDivideAndConquer(Point[] points, ForkJoinPool pool) {
+        if (points == null || points.length < 2) return null;
+
+        int[] pair = findClosestPairDivideAndConquer(PointSet.of(points), pool);
+        return new Point[] { points[pair[0]], points[pair[1]] };
+    }
+
+    /**
+     * Divide and Conquer closest pair directly on primitive coordinates.
+     * * @param points The point set to check (not modified).
+     * @return The indices of the closest pair, or null for fewer than 2 points.
+     */
+    public int[] findClosestPairDivideAndConquer(PointSet points) {
+        return findClosestPairDivideAndConquer(points, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #findClosestPairDivideAndConquer(PointSet)}, but runs the parallel
+     * part of the recursion on the given pool.
+     */
+    public int[] findClosestPairDivideAndConquer(PointSet points, ForkJoinPool pool) {
+        if (points == null || points.size() < 2) return null;
+
+        ClosestPairSearch search = new ClosestPairSearch(points);
+        Candidate best;
+        if (points.size() >= PARALLEL_THRESHOLD) {
+            pool.invoke(new SortByXTask(search, 0, points.size()));
+            ClosestPairTask task = new ClosestPairTask(search, 0, points.size());
+            pool.invoke(task);
+            best = task.best;
+        } else {
+            search.sortByX(0, points.size());
+            best = new Candidate();
+            search.closest(0, points.size(), best);
+        }
+        return new int[] { best.first, best.second };
+    }
+
+    /**
+     * Best pair found so far (original indices plus squared distance).
+     */
+    private static final class Candidate {
+        int first = -1;
+        int second = -1;
+        double distanceSq = Double.POSITIVE_INFINITY;
+
+        void offer(int i, int j, double currentDistSq) {
+            if (currentDistSq < distanceSq) {
+                distanceSq = currentDistSq;
+                first = i;
+                second = j;
+            }
+        }
+    }
+
+    /**
+     * Working copy of the coordinates as parallel arrays (x, y, original index)
+     * plus equally sized buffers for merging and strip collection.
+     * Ranges handled by different tasks never overlap, so tasks can share one instance.
+     */
+    private static final class ClosestPairSearch {
+        final double[] x, y;
+        final int[] id;
+        final double[] bufferX, bufferY;
+        final int[] bufferId;
+
+        ClosestPairSearch(PointSet points) {
+            int n = points.size();
+            x = Arrays.copyOf(points.xs, n);
+            y = Arrays.copyOf(points.ys, n);
+            id = new int[n];
+            for (int i = 0; i < n; i++) {
+                id[i] = i;
+            }
+            bufferX = new double[n];
+            bufferY = new double[n];
+            bufferId = new int[n];
+        }
+
+        /**
+         * Top-down merge sort of [low, high) by x.
+         */
+        void sortByX(int low, int high) {
+            if (high - low <= 16) {
+                insertionSort(low, high, false);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            sortByX(low, mid);
+            sortByX(mid, high);
+            merge(low, mid, high, false);
+        }
+
+        /**
+         * Sequential recursion on [low, high), updating best.
+         * On return the range is sorted by y (merge sort piggybacks on the recursion).
+         */
+        void closest(int low, int high, Candidate best) {
+            if (high - low <= BRUTE_FORCE_THRESHOLD) {
+                bruteForce(low, high, best);
+                insertionSort(low, high, true);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            double midX = x[mid]; // Read before the halves get reordered by y
+
+            closest(low, mid, best);
+            closest(mid, high, best);
+            combine(low, mid, high, midX, best);
+        }
+
+        /**
+         * Merges both y-sorted halves and checks pairs crossing the dividing line.
+         * Only points within the current best distance of midX can improve the result,
+         * and for each of them at most a constant number of y-neighbours needs checking.
+         */
+        void combine(int low, int mid, int high, double midX, Candidate best) {
+            merge(low, mid, high, true);
+
+            // Collect the strip into the (now free) buffer range
+            int stripEnd = low;
+            for (int i = low; i < high; i++) {
+                double dx = x[i] - midX;
+                if (dx * dx < best.distanceSq) {
+                    bufferX[stripEnd] = x[i];
+                    bufferY[stripEnd] = y[i];
+                    bufferId[stripEnd] = id[i];
+                    stripEnd++;
+                }
+            }
+
+            for (int i = low; i < stripEnd; i++) {
+                for (int j = i + 1; j < stripEnd; j++) {
+                    double dy = bufferY[j] - bufferY[i];
+                    if (dy * dy >= best.distanceSq) {
+                        break; // Sorted by y: no later point can be closer
+                    }
+                    double dx = bufferX[j] - bufferX[i];
+                    best.offer(bufferId[i], bufferId[j], dx * dx + dy * dy);
+                }
+            }
+        }
+
+        private void bruteForce(int low, int high, Candidate best) {
+            for (int i = low; i < high - 1; i++) {
+                for (int j = i + 1; j < high; j++) {
+                    double dx = x[i] - x[j];
+                    double dy = y[i] - y[j];
+                    best.offer(id[i], id[j], dx * dx + dy * dy);
+                }
+            }
+        }
+
+        private void insertionSort(int low, int high, boolean byY) {
+            double[] key = byY ? y : x;
+            for (int i = low + 1; i < high; i++) {
+                double currentX = x[i], currentY = y[i];
+                int currentId = id[i];
+                double currentKey = key[i];
+                int j = i - 1;
+                while (j >= low && key[j] > currentKey) {
+                    x[j + 1] = x[j];
+                    y[j + 1] = y[j];
+                    id[j + 1] = id[j];
+                    j--;
+                }
+                x[j + 1] = currentX;
+                y[j + 1] = currentY;
+                id[j + 1] = currentId;
+            }
+        }
+
+        private void merge(int low, int mid, int high, boolean byY) {
+            System.arraycopy(x, low, bufferX, low, high - low);
+            System.arraycopy(y, low, bufferY, low, high - low);
+            System.arraycopy(id, low, bufferId, low, high - low);
+            double[] key = byY ? bufferY : bufferX;
+
+            int i = low;
+            int j = mid;
+            for (int k = low; k < high; k++) {
+                int from = (j >= high || (i < mid && key[i] <= key[j])) ? i++ : j++;
+                x[k] = bufferX[from];
+                y[k] = bufferY[from];
+                id[k] = bufferId[from];
+            }
+        }
+    }
+
+    /**
+     * Fork-join merge sort by x for large inputs.
+     */
+    private static final class SortByXTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ClosestPairSearch search;
+        private final int low;
+        private final int high;
+
+        SortByXTask(ClosestPairSearch search, int low, int high) {
+            this.search = search;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < PARALLEL_THRESHOLD) {
+                search.sortByX(low, high);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new SortByXTask(search, low, mid), new SortByXTask(search, mid, high));
+            search.merge(low, mid, high, false);
+        }
+    }
+
+    /**
+     * Fork-join task for one range of the x-sorted arrays.
+     * Each task keeps its own candidate; both halves' results are combined after the join.
+     */
+    private static final class ClosestPairTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ClosestPairSearch search;
+        private final int low;
+        private final int high;
+        final Candidate best = new Candidate();
+
+        ClosestPairTask(ClosestPairSearch search, int low, int high) {
+            this.search = search;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < PARALLEL_THRESHOLD) {
+                search.closest(low, high, best);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            double midX = search.x[mid];
+
+            ClosestPairTask left = new ClosestPairTask(search, low, mid);
+            ClosestPairTask right = new ClosestPairTask(search, mid, high);
+            invokeAll(left, right);
+
+            best.offer(left.best.first, left.best.second, left.best.distanceSq);
+            best.offer(right.best.first, right.best.second, right.best.distanceSq);
+            search.combine(low, mid, high, midX, best);
+        }
+    }
+
     /**
      * Helper to calculate squared Euclidean distance (avoids expensive sqrt).
      */
@@ -96,4 +784,143 @@ public class AlgorithmCollection {
         }
         return reachable[targetSum];
     }
-}
\ No newline at end of file
+
+    /**
+     * Bitset variant of {@link #hasSubsetSum(int, int[])}.
+     * Bit j of the packed long[] is set if a sum of j is achievable. Adding a number
+     * shifts the whole bitset left by that number and ORs it in, 64 sums per word operation.
+     * Space Complexity: O(sum / 64) words
+     * Time Complexity: O(n * sum / 64)
+     * * @param targetSum The sum we are trying to reach.
+     * @param numbers The set of available (non-negative) numbers.
+     * @return true if a subset exists that sums up to targetSum.
+     */
+    public boolean hasSubsetSumBitset(int targetSum, int[] numbers) {
+        return reachingPrefix(targetSum, numbers) >= 0;
+    }
+
+    /**
+     * Runs the bitset DP until targetSum becomes reachable.
+     * @return The length of the shortest prefix of numbers that reaches targetSum, or -1 if none does.
+     */
+    private static int reachingPrefix(int targetSum, int[] numbers) {
+        if (targetSum < 0) return -1;
+        if (targetSum == 0) return 0;
+
+        long[] reachable = new long[(targetSum >>> 6) + 1];
+        reachable[0] = 1L; // Base case: sum 0 (empty set)
+
+        for (int i = 0; i < numbers.length; i++) {
+            int number = numbers[i];
+            if (number <= 0 || number > targetSum) continue; // Cannot contribute to targetSum
+            orShifted(reachable, number, targetSum);
+            if (isBitSet(reachable, targetSum)) {
+                return i + 1; // Early exit: later numbers can only add sums
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Like {@link #hasSubsetSumBitset(int, int[])}, but also reconstructs one solution.
+     * No per-sum back-pointers are kept: the numbers are split in half, the reachable sums of
+     * each half are recomputed as bitsets, and any s with left[s] and right[targetSum - s]
+     * splits the target between the halves, which are then solved the same way.
+     * Only a few bitsets are alive at any time, so memory stays at the bitset DP's level.
+     * Space Complexity: O(sum / 64) words (plus O(n) ints for the indices)
+     * Time Complexity: O(n * sum / 64 * log n), where n only counts the numbers up to the one
+     * that first makes targetSum reachable
+     * * @param targetSum The sum we are trying to reach.
+     * @param numbers The set of available (non-negative) numbers.
+     * @return Ascending indices into numbers whose values add up to targetSum, or null if none exist.
+     */
+    public int[] findSubsetSum(int targetSum, int[] numbers) {
+        int prefix = reachingPrefix(targetSum, numbers);
+        if (prefix < 0) {
+            return null;
+        }
+
+        // Only numbers of the reaching prefix that can contribute take part in the search
+        int[] candidates = new int[prefix];
+        int candidateCount = 0;
+        for (int i = 0; i < prefix; i++) {
+            if (numbers[i] > 0 && numbers[i] <= targetSum) {
+                candidates[candidateCount++] = i;
+            }
+        }
+
+        int[] chosen = new int[candidateCount];
+        int count = collectSubset(numbers, candidates, 0, candidateCount, targetSum, chosen, 0);
+        return Arrays.copyOf(chosen, count);
+    }
+
+    /**
+     * Appends indices from candidates[low, high) whose numbers add up to target (which must be reachable).
+     * @return The new number of chosen indices
+     */
+    private static int collectSubset(int[] numbers, int[] candidates, int low, int high,
+                                     int target, int[] chosen, int count) {
+        if (target == 0) {
+            return count;
+        }
+        if (high - low == 1) {
+            chosen[count] = candidates[low]; // The only way to reach a positive target
+            return count + 1;
+        }
+
+        int mid = (low + high) >>> 1;
+        long[] left = reachableSums(numbers, candidates, low, mid, target);
+        long[] right = reachableSums(numbers, candidates, mid, high, target);
+        int split = 0;
+        while (!isBitSet(left, split) || !isBitSet(right, target - split)) {
+            split++;
+        }
+
+        count = collectSubset(numbers, candidates, low, mid, split, chosen, count);
+        return collectSubset(numbers, candidates, mid, high, target - split, chosen, count);
+    }
+
+    /** Bitset of the sums up to maxSum reachable with numbers[candidates[low, high)]. */
+    private static long[] reachableSums(int[] numbers, int[] candidates, int low, int high, int maxSum) {
+        long[] reachable = new long[(maxSum >>> 6) + 1];
+        reachable[0] = 1L;
+        for (int k = low; k < high; k++) {
+            if (numbers[candidates[k]] <= maxSum) {
+                orShifted(reachable, numbers[candidates[k]], maxSum);
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Performs bits |= bits << shift in place, dropping sums above maxSum.
+     * Words are processed from high to low so every source word is read before it is written.
+     */
+    static void orShifted(long[] bits, int shift, int maxSum) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        int last = maxSum >>> 6;
+
+        for (int k = last; k >= wordShift; k--) {
+            bits[k] |= shiftedWord(bits, k - wordShift, bitShift);
+        }
+        bits[last] &= lastWordMask(maxSum);
+    }
+
+    /** bits[source] shifted left by bitShift (< 64), plus the bits carried over from bits[source - 1]. */
+    private static long shiftedWord(long[] bits, int source, int bitShift) {
+        long word = bits[source] << bitShift;
+        if (bitShift != 0 && source > 0) {
+            word |= bits[source - 1] >>> (64 - bitShift);
+        }
+        return word;
+    }
+
+    private static long lastWordMask(int maxSum) {
+        return -1L >>> (63 - (maxSum & 63));
+    }
+
+    static boolean isBitSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
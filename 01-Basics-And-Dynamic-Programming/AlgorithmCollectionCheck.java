@@ -0,0 +1,224 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Randomized self-check for AlgorithmCollection.
+ * Every optimized variant is compared against the straightforward baseline method on random inputs.
+ * Usage: java AlgorithmCollectionCheck [seed]
+ * Prints one line per check and throws IllegalStateException on the first mismatch.
+ */
+public class AlgorithmCollectionCheck {
+
+    private static final AlgorithmCollection ALGO = new AlgorithmCollection();
+
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        Random random = new Random(seed);
+        System.out.println("Seed " + seed);
+
+        checkReductions(random);
+        checkClosestPair(random);
+        checkPointSet(random);
+        checkPointSetFile(random);
+        checkSubsetSum(random);
+        checkSubsetSumIndex(random);
+    }
+
+    /**
+     * findMaxParallel and summarize(Parallel) against findMax and a plain loop.
+     */
+    private static void checkReductions(Random random) {
+        AlgorithmCollection.ArrayStats stats = new AlgorithmCollection.ArrayStats();
+        for (int round = 0; round < 200; round++) {
+            // Some arrays above the fork-join chunk size (65536)
+            int n = round % 20 == 0 ? 70_000 + random.nextInt(200_000) : random.nextInt(100);
+            int[] numbers = new int[n];
+            for (int i = 0; i < n; i++) {
+                numbers[i] = random.nextInt(2001) - 1000;
+            }
+
+            int max = ALGO.findMax(numbers);
+            check(ALGO.findMaxParallel(numbers) == max, "findMaxParallel", round);
+
+            long sum = 0;
+            int min = n == 0 ? 0 : Integer.MAX_VALUE;
+            int argMax = -1;
+            for (int i = 0; i < n; i++) {
+                sum += numbers[i];
+                min = Math.min(min, numbers[i]);
+                if (argMax < 0 || numbers[i] > numbers[argMax]) {
+                    argMax = i;
+                }
+            }
+            for (int parallel = 0; parallel < 2; parallel++) {
+                if (parallel == 0) {
+                    ALGO.summarize(numbers, stats);
+                } else {
+                    ALGO.summarizeParallel(numbers, stats);
+                }
+                check(stats.getMax() == max && stats.getMin() == min && stats.getSum() == sum
+                        && stats.getArgMax() == argMax, parallel == 0 ? "summarize" : "summarizeParallel", round);
+            }
+        }
+        System.out.println("Reductions: OK");
+    }
+
+    /**
+     * Divide and Conquer (common and custom pool) against brute force.
+     * Coordinates come from a small grid, so there are many ties and duplicate points.
+     */
+    private static void checkClosestPair(Random random) {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 150; round++) {
+                int n = 2 + (round % 10 == 0 ? 10_000 + random.nextInt(5_000) : random.nextInt(80));
+                AlgorithmCollection.Point[] points = new AlgorithmCollection.Point[n];
+                for (int i = 0; i < n; i++) {
+                    points[i] = new AlgorithmCollection.Point(random.nextInt(1000), random.nextInt(1000) * 0.5);
+                }
+                double expected = distanceSq(ALGO.findClosestPair(points));
+
+                check(distanceSq(ALGO.findClosestPairDivideAndConquer(points)) == expected, "closest pair", round);
+                check(distanceSq(ALGO.findClosestPairDivideAndConquer(points, pool)) == expected, "closest pair (pool)", round);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Closest pair: OK");
+    }
+
+    /**
+     * Closest pair on the struct-of-arrays PointSet (Divide and Conquer and brute force) against Point[].
+     */
+    private static void checkPointSet(Random random) {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 150; round++) {
+                int n = 2 + (round % 10 == 0 ? 10_000 + random.nextInt(5_000) : random.nextInt(80));
+                AlgorithmCollection.Point[] points = new AlgorithmCollection.Point[n];
+                for (int i = 0; i < n; i++) {
+                    points[i] = new AlgorithmCollection.Point(random.nextInt(1000), random.nextInt(1000) * 0.5);
+                }
+                double expected = distanceSq(ALGO.findClosestPairDivideAndConquer(points));
+                AlgorithmCollection.PointSet set = AlgorithmCollection.PointSet.of(points);
+
+                int[] pair = ALGO.findClosestPairDivideAndConquer(set, pool);
+                check(pair[0] != pair[1] && set.distanceSq(pair[0], pair[1]) == expected, "closest pair (PointSet)", round);
+                if (n < 2_000) {
+                    int[] brute = ALGO.findClosestPair(set);
+                    check(brute[0] != brute[1] && set.distanceSq(brute[0], brute[1]) == expected, "brute force (PointSet)", round);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("PointSet closest pair: OK");
+    }
+
+    private static void checkPointSetFile(Random random) throws IOException {
+        int n = 1 + random.nextInt(10_000);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextGaussian();
+            ys[i] = random.nextGaussian();
+        }
+        Path file = Files.createTempFile("points", ".bin");
+        try {
+            new AlgorithmCollection.PointSet(xs, ys).save(file);
+            AlgorithmCollection.PointSet loaded = AlgorithmCollection.PointSet.load(file);
+            check(loaded.size() == n, "PointSet size after load", 0);
+            for (int i = 0; i < n; i++) {
+                check(loaded.getX(i) == xs[i] && loaded.getY(i) == ys[i], "PointSet round trip", i);
+            }
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("PointSet file: OK");
+    }
+
+    /**
+     * Bitset decision and witness against the boolean[] DP.
+     */
+    private static void checkSubsetSum(Random random) {
+        for (int round = 0; round < 3000; round++) {
+            int n = random.nextInt(25);
+            int[] numbers = new int[n];
+            for (int i = 0; i < n; i++) {
+                numbers[i] = random.nextInt(60); // Includes 0
+            }
+            int target = random.nextInt(400) - 2;
+
+            boolean expected = ALGO.hasSubsetSum(target, numbers);
+            check(ALGO.hasSubsetSumBitset(target, numbers) == expected, "hasSubsetSumBitset", round);
+
+            int[] indices = ALGO.findSubsetSum(target, numbers);
+            check((indices != null) == expected, "findSubsetSum existence", round);
+            if (indices != null) {
+                long sum = 0;
+                for (int k = 0; k < indices.length; k++) {
+                    check(k == 0 || indices[k] > indices[k - 1], "findSubsetSum indices ascending", round);
+                    sum += numbers[indices[k]];
+                }
+                check(sum == target, "findSubsetSum witness sum", round);
+            }
+        }
+        System.out.println("Subset sum: OK");
+    }
+
+    /**
+     * SubsetSumIndex (bulk build, incremental adds, batch queries, snapshots) against the boolean[] DP.
+     */
+    private static void checkSubsetSumIndex(Random random) {
+        for (int round = 0; round < 100; round++) {
+            int maxTarget = random.nextInt(500);
+            int n = random.nextInt(15);
+            int[] numbers = new int[n];
+            for (int i = 0; i < n; i++) {
+                numbers[i] = random.nextInt(80);
+            }
+
+            AlgorithmCollection.SubsetSumIndex built = new AlgorithmCollection.SubsetSumIndex(maxTarget, numbers);
+            AlgorithmCollection.SubsetSumIndex incremental = new AlgorithmCollection.SubsetSumIndex(maxTarget);
+            AlgorithmCollection.SubsetSumIndex before = incremental.snapshot();
+            for (int number : numbers) {
+                incremental.add(number);
+            }
+            AlgorithmCollection.SubsetSumIndex snapshot = incremental.snapshot();
+
+            int[] targets = new int[maxTarget + 3];
+            for (int t = 0; t < targets.length; t++) {
+                targets[t] = t - 1; // -1 .. maxTarget + 1
+            }
+            boolean[] results = new boolean[targets.length];
+            built.isReachable(targets, results);
+
+            for (int t = 0; t < targets.length; t++) {
+                int target = targets[t];
+                boolean expected = target <= maxTarget && ALGO.hasSubsetSum(target, numbers);
+                check(results[t] == expected && built.isReachable(target) == expected
+                        && incremental.isReachable(target) == expected
+                        && snapshot.isReachable(target) == expected, "SubsetSumIndex target " + target, round);
+                check(before.isReachable(target) == (target == 0), "snapshot isolation", round);
+            }
+        }
+        System.out.println("Subset sum index: OK");
+    }
+
+    // --- Helpers ---
+
+    private static double distanceSq(AlgorithmCollection.Point[] pair) {
+        double dx = pair[0].getX() - pair[1].getX();
+        double dy = pair[0].getY() - pair[1].getY();
+        return (dx * dx) + (dy * dy);
+    }
+
+    private static void check(boolean condition, String what, int round) {
+        if (!condition) {
+            throw new IllegalStateException(what + " failed (round " + round + ")");
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * Compact Graph implementation in Compressed Sparse Row (CSR) form.
+ * Vertices are the dense IDs 0..n-1. Forward and reverse adjacency are each stored as
+ * an offset array plus one flat neighbor array, so an edge costs 8 bytes in total.
+ * * Removal never touches the adjacency arrays: a tombstone bitmap marks removed vertices
+ * and live in/out degree counters are adjusted for the neighbors, i.e. O(deg) per removal.
+ * Traversals that must not allocate can use the slice accessors
+ * ({@link #successorStart}, {@link #successorEnd}, {@link #successorAt}) and skip removed entries.
+ */
+public class CsrGraph implements Graph {
+
+    private final int vertexCount;
+    private final int[] outOffsets; // successors of v: targets[outOffsets[v] .. outOffsets[v + 1])
+    private final int[] targets;
+    private final int[] inOffsets;  // predecessors of v: sources[inOffsets[v] .. inOffsets[v + 1])
+    private final int[] sources;
+
+    private final long[] removed;   // Tombstone bitmap
+    private final int[] inDegree;   // Live degrees (edges from/to removed vertices are not counted)
+    private final int[] outDegree;
+    private int liveVertexCount;
+
+    /**
+     * Wraps prebuilt CSR arrays (no copy). Both directions must describe the same edge set.
+     */
+    CsrGraph(int vertexCount, int[] outOffsets, int[] targets, int[] inOffsets, int[] sources) {
+        this.vertexCount = vertexCount;
+        this.outOffsets = outOffsets;
+        this.targets = targets;
+        this.inOffsets = inOffsets;
+        this.sources = sources;
+        this.removed = new long[(vertexCount + 63) >>> 6];
+        this.inDegree = new int[vertexCount];
+        this.outDegree = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            outDegree[v] = outOffsets[v + 1] - outOffsets[v];
+            inDegree[v] = inOffsets[v + 1] - inOffsets[v];
+        }
+        this.liveVertexCount = vertexCount;
+    }
+
+    /**
+     * Builds a graph from an edge list using counting sort (two passes, no per-edge objects).
+     * Time Complexity: O(V + E)
+     * * @param vertexCount Number of vertices (IDs 0..vertexCount-1)
+     * @param from Source vertex of each edge
+     * @param to Target vertex of each edge
+     * @param edgeCount Number of valid entries in from/to
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, int edgeCount) {
+        int[] outOffsets = new int[vertexCount + 1];
+        int[] inOffsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (from[e] < 0 || from[e] >= vertexCount || to[e] < 0 || to[e] >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + from[e] + " -> " + to[e] + " out of range [0, " + vertexCount + ")");
+            }
+            outOffsets[from[e] + 1]++;
+            inOffsets[to[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        int[] targets = new int[edgeCount];
+        int[] sources = new int[edgeCount];
+        int[] outFill = outOffsets.clone();
+        int[] inFill = inOffsets.clone();
+        for (int e = 0; e < edgeCount; e++) {
+            targets[outFill[from[e]]++] = to[e];
+            sources[inFill[to[e]]++] = from[e];
+        }
+        return new CsrGraph(vertexCount, outOffsets, targets, inOffsets, sources);
+    }
+
+    // --- Graph interface ---
+
+    @Override
+    public int[] getVertices() {
+        int[] vertices = new int[liveVertexCount];
+        int count = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!isRemoved(v)) {
+                vertices[count++] = v;
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * Returns the live successors as a fresh array.
+     * Prefer the slice accessors on hot paths.
+     */
+    @Override
+    public int[] getSuccessors(int vertex) {
+        if (isRemoved(vertex)) {
+            return new int[0];
+        }
+        int[] successors = new int[outDegree[vertex]];
+        int count = 0;
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+            if (!isRemoved(targets[e])) {
+                successors[count++] = targets[e];
+            }
+        }
+        return successors;
+    }
+
+    /**
+     * Live in-degree, or -1 if the vertex was removed.
+     */
+    @Override
+    public int inDegree(int vertex) {
+        return isRemoved(vertex) ? -1 : inDegree[vertex];
+    }
+
+    /**
+     * Live out-degree, or -1 if the vertex was removed.
+     */
+    @Override
+    public int outDegree(int vertex) {
+        return isRemoved(vertex) ? -1 : outDegree[vertex];
+    }
+
+    /**
+     * Marks the vertex as removed and updates the degrees of its live neighbors.
+     * Time Complexity: O(deg)
+     */
+    @Override
+    public void removeVertex(int vertex) {
+        if (isRemoved(vertex)) {
+            return;
+        }
+        removed[vertex >>> 6] |= 1L << vertex;
+        liveVertexCount--;
+
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+            int neighbor = targets[e];
+            if (!isRemoved(neighbor)) {
+                inDegree[neighbor]--;
+            }
+        }
+        for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+            int neighbor = sources[e];
+            if (!isRemoved(neighbor)) {
+                outDegree[neighbor]--;
+            }
+        }
+    }
+
+    /**
+     * Undoes {@link #removeVertex}: clears the tombstone, recounts the vertex's own live degrees
+     * and increments the degrees of its live neighbors. Lets local search try removals cheaply.
+     * Not meant for vertices removed by {@link #bypassVertex}, whose edges were redirected.
+     * Time Complexity: O(deg)
+     */
+    public void restoreVertex(int vertex) {
+        if (!isRemoved(vertex)) {
+            return;
+        }
+        removed[vertex >>> 6] &= ~(1L << vertex);
+        liveVertexCount++;
+
+        int out = 0;
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+            int neighbor = targets[e];
+            if (!isRemoved(neighbor)) {
+                out++;
+                if (neighbor != vertex) {
+                    inDegree[neighbor]++;
+                }
+            }
+        }
+        int in = 0;
+        for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+            int neighbor = sources[e];
+            if (!isRemoved(neighbor)) {
+                in++;
+                if (neighbor != vertex) {
+                    outDegree[neighbor]++;
+                }
+            }
+        }
+        outDegree[vertex] = out;
+        inDegree[vertex] = in;
+    }
+
+    /**
+     * Bypasses a vertex with live in-degree 1 and out-degree 1 (u -> vertex -> w)
+     * by redirecting the existing CSR slots in place: u's slot for vertex now points to w,
+     * and w's predecessor slot for vertex now holds u. Degrees of u and w stay the same.
+     * Time Complexity: O(deg(u) + deg(w))
+     */
+    @Override
+    public boolean bypassVertex(int vertex) {
+        if (isRemoved(vertex) || inDegree[vertex] != 1 || outDegree[vertex] != 1) {
+            return false;
+        }
+        int successor = -1;
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1] && successor == -1; e++) {
+            if (!isRemoved(targets[e])) {
+                successor = targets[e];
+            }
+        }
+        int predecessor = -1;
+        for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1] && predecessor == -1; e++) {
+            if (!isRemoved(sources[e])) {
+                predecessor = sources[e];
+            }
+        }
+        if (successor == vertex || predecessor == vertex) {
+            return false; // Self-loop: must not be bypassed
+        }
+
+        for (int e = outOffsets[predecessor]; e < outOffsets[predecessor + 1]; e++) {
+            if (targets[e] == vertex) {
+                targets[e] = successor;
+                break;
+            }
+        }
+        for (int e = inOffsets[successor]; e < inOffsets[successor + 1]; e++) {
+            if (sources[e] == vertex) {
+                sources[e] = predecessor;
+                break;
+            }
+        }
+        removed[vertex >>> 6] |= 1L << vertex;
+        liveVertexCount--;
+        return true;
+    }
+
+    // --- Allocation-free access ---
+
+    /** Number of vertex IDs (including removed ones). */
+    public int vertexCount() { return vertexCount; }
+
+    public int liveVertexCount() { return liveVertexCount; }
+
+    public int edgeCount() { return targets.length; }
+
+    public boolean isRemoved(int vertex) {
+        return (removed[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    /**
+     * First slot of the successor slice of vertex. The slice also contains removed targets.
+     */
+    public int successorStart(int vertex) { return outOffsets[vertex]; }
+
+    /** End (exclusive) of the successor slice of vertex. */
+    public int successorEnd(int vertex) { return outOffsets[vertex + 1]; }
+
+    /** Target of the edge in the given successor slot. */
+    public int successorAt(int slot) { return targets[slot]; }
+
+    /**
+     * First slot of the predecessor slice of vertex. The slice also contains removed sources.
+     */
+    public int predecessorStart(int vertex) { return inOffsets[vertex]; }
+
+    /** End (exclusive) of the predecessor slice of vertex. */
+    public int predecessorEnd(int vertex) { return inOffsets[vertex + 1]; }
+
+    /** Source of the edge in the given predecessor slot. */
+    public int predecessorAt(int slot) { return sources[slot]; }
+}
@@ -0,0 +1,230 @@
+import java.util.Arrays;
+
+/**
+ * Iterative Depth-First Search (DFS) cycle detection for directed graphs.
+ * Uses an explicit frame stack instead of recursion, so long chain-like graphs cannot
+ * cause a StackOverflowError.
+ * * Scratch arrays are kept between calls. "Visited" and "on stack" are generation stamps:
+ * a new search just increments the generation instead of clearing O(maxID) entries.
+ * For {@link CsrGraph} the adjacency slices are walked directly, so a search allocates nothing.
+ * Instances are not thread-safe.
+ */
+public class CycleDetector {
+
+    private int generation;
+
+    // Per vertex ID
+    private int[] visited = new int[0];
+    private int[] onStack = new int[0];
+    private int[] frameOf = new int[0]; // Frame index of a vertex while it is on the stack
+
+    // DFS frames: vertex, successor list (generic graphs only) and position within it
+    private int[] frameVertex = new int[0];
+    private int[][] frameSuccessors = new int[0][];
+    private int[] framePosition = new int[0];
+
+    // Set when a back-edge is found: the cycle is frameVertex[cycleStart .. cycleEnd]
+    private int cycleStart;
+    private int cycleEnd;
+
+    /**
+     * Checks if the entire graph contains any cycles.
+     * Time Complexity: O(V + E)
+     */
+    public boolean isAcyclic(Graph g) {
+        return !search(g);
+    }
+
+    /**
+     * Finds one cycle.
+     * * @param g The graph to search
+     * @return The vertices of a cycle in edge order (the last vertex has an edge to the first),
+     *         or null if the graph is acyclic.
+     */
+    public int[] findCycle(Graph g) {
+        if (!search(g)) {
+            return null;
+        }
+        return Arrays.copyOfRange(frameVertex, cycleStart, cycleEnd + 1);
+    }
+
+    /**
+     * Finds a cycle through the given vertex by searching for a path from it back to itself.
+     * Only the part of the graph reachable from the vertex is explored, which makes this much
+     * cheaper than a full search when the rest of the graph is known to be acyclic.
+     * * @param g The graph to search
+     * @param vertex A live vertex
+     * @return The cycle's vertices in edge order starting with vertex, or null if there is none.
+     */
+    public int[] findCycleThrough(CsrGraph g, int vertex) {
+        if (!searchFrom(g, vertex)) {
+            return null;
+        }
+        return Arrays.copyOfRange(frameVertex, 0, cycleEnd + 1);
+    }
+
+    /**
+     * Checks whether the given vertex lies on a cycle (see {@link #findCycleThrough}).
+     */
+    public boolean isOnCycle(CsrGraph g, int vertex) {
+        return searchFrom(g, vertex);
+    }
+
+    private boolean searchFrom(CsrGraph g, int root) {
+        prepare(g.vertexCount(), g.liveVertexCount());
+
+        int frames = 0;
+        openFrame(root, frames++);
+        framePosition[0] = g.successorStart(root);
+
+        while (frames > 0) {
+            int top = frames - 1;
+            int vertex = frameVertex[top];
+
+            if (framePosition[top] < g.successorEnd(vertex)) {
+                int neighbor = g.successorAt(framePosition[top]++);
+                if (neighbor == root) {
+                    cycleEnd = top; // Path root .. vertex plus the edge back to root
+                    return true;
+                }
+                if (!g.isRemoved(neighbor) && visited[neighbor] != generation) {
+                    openFrame(neighbor, frames++);
+                    framePosition[top + 1] = g.successorStart(neighbor);
+                }
+                continue;
+            }
+            frames--; // Dead end: no path back to root from here
+        }
+        return false;
+    }
+
+    private boolean search(Graph g) {
+        if (g instanceof CsrGraph) {
+            return searchCsr((CsrGraph) g);
+        }
+
+        int[] vertices = g.getVertices();
+        if (vertices == null || vertices.length == 0) {
+            return false;
+        }
+        int maxID = -1;
+        for (int vertex : vertices) {
+            maxID = Math.max(maxID, vertex);
+        }
+        prepare(maxID + 1, vertices.length);
+
+        for (int root : vertices) {
+            if (visited[root] == generation) {
+                continue;
+            }
+            int frames = 0;
+            openFrame(root, frames++);
+            frameSuccessors[0] = g.getSuccessors(root);
+
+            while (frames > 0) {
+                int top = frames - 1;
+                int[] successors = frameSuccessors[top];
+
+                if (successors != null && framePosition[top] < successors.length) {
+                    int neighbor = successors[framePosition[top]++];
+                    if (visited[neighbor] != generation) {
+                        openFrame(neighbor, frames++);
+                        frameSuccessors[top + 1] = g.getSuccessors(neighbor);
+                    } else if (onStack[neighbor] == generation) {
+                        // Neighbor is on the current path -> Cycle detected
+                        cycleStart = frameOf[neighbor];
+                        cycleEnd = top;
+                        clearSuccessors(frames);
+                        return true;
+                    }
+                    continue;
+                }
+
+                // Backtrack
+                onStack[frameVertex[top]] = 0;
+                frameSuccessors[top] = null;
+                frames--;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same search on the raw CSR slices; the frame position is the current edge slot.
+     */
+    private boolean searchCsr(CsrGraph g) {
+        int n = g.vertexCount();
+        prepare(n, g.liveVertexCount());
+
+        for (int root = 0; root < n; root++) {
+            if (g.isRemoved(root) || visited[root] == generation) {
+                continue;
+            }
+            int frames = 0;
+            openFrame(root, frames++);
+            framePosition[0] = g.successorStart(root);
+
+            while (frames > 0) {
+                int top = frames - 1;
+                int vertex = frameVertex[top];
+
+                if (framePosition[top] < g.successorEnd(vertex)) {
+                    int neighbor = g.successorAt(framePosition[top]++);
+                    if (g.isRemoved(neighbor)) {
+                        continue;
+                    }
+                    if (visited[neighbor] != generation) {
+                        openFrame(neighbor, frames++);
+                        framePosition[top + 1] = g.successorStart(neighbor);
+                    } else if (onStack[neighbor] == generation) {
+                        cycleStart = frameOf[neighbor];
+                        cycleEnd = top;
+                        return true;
+                    }
+                    continue;
+                }
+
+                onStack[vertex] = 0;
+                frames--;
+            }
+        }
+        return false;
+    }
+
+    private void openFrame(int vertex, int frame) {
+        visited[vertex] = generation;
+        onStack[vertex] = generation;
+        frameOf[vertex] = frame;
+        frameVertex[frame] = vertex;
+        framePosition[frame] = 0;
+    }
+
+    /** Drops successor array references so they can be collected. */
+    private void clearSuccessors(int frames) {
+        Arrays.fill(frameSuccessors, 0, frames, null);
+    }
+
+    /**
+     * Starts a new generation and grows the scratch arrays if needed.
+     */
+    private void prepare(int idLimit, int maxDepth) {
+        if (idLimit > visited.length) {
+            int size = Math.max(idLimit, visited.length * 2);
+            visited = Arrays.copyOf(visited, size);
+            onStack = Arrays.copyOf(onStack, size);
+            frameOf = new int[size];
+        }
+        if (maxDepth > frameVertex.length) {
+            int size = Math.max(maxDepth, frameVertex.length * 2);
+            frameVertex = new int[size];
+            frameSuccessors = new int[size][];
+            framePosition = new int[size];
+        }
+        if (++generation == 0) {
+            // Stamp overflow after 2^32 searches: reset so stale stamps cannot match
+            Arrays.fill(visited, 0);
+            Arrays.fill(onStack, 0);
+            generation = 1;
+        }
+    }
+}
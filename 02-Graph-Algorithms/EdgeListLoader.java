@@ -0,0 +1,337 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Loads edge lists from disk into a {@link CsrGraph}.
+ * The file is memory-mapped and read twice: pass 1 assigns dense IDs and counts degrees,
+ * pass 2 writes the edges straight into the CSR arrays. No per-edge objects are created.
+ * * Vertex IDs in the file may be sparse (any int values). They are remapped to dense IDs
+ * 0..n-1 in order of first appearance through a primitive open-addressing table;
+ * {@link #originalId(int)} maps results (e.g. a feedback vertex set) back.
+ * * Supported formats:
+ * - Binary: little-endian int32 pairs (source, target), 8 bytes per edge.
+ * - Text: one edge per line ("source target", separated by spaces, tabs or commas).
+ *   Further columns (e.g. weights) are ignored; lines whose first non-blank character is
+ *   '#' or '%' are comments.
+ */
+public class EdgeListLoader {
+
+    /** Largest region mapped at once; a multiple of 8 so no binary edge straddles two regions. */
+    private static final long MAP_CHUNK_BYTES = 1L << 30;
+
+    private IdRemapping remapping;
+    private int[] originalIds = new int[0];
+
+    // State shared by both passes
+    private int pass;
+    private long edgeCount;
+    private int[] outOffsets, inOffsets;
+    private int[] outFill, inFill;
+    private int[] targets, sources;
+
+    // Text parser state (survives region boundaries)
+    private long lineNumber;
+    private int fieldCount;
+    private boolean inNumber, negative, skipRestOfLine, lineStart;
+    private long value;
+    private int firstField;
+
+    /**
+     * Loads a binary edge list.
+     * Time Complexity: O(V + E)
+     */
+    public CsrGraph loadBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() % 8 != 0) {
+                throw new IOException("Binary edge list size is not a multiple of 8: " + file);
+            }
+            begin();
+            scanBinary(channel);
+            allocate();
+            scanBinary(channel);
+            return finish();
+        }
+    }
+
+    /**
+     * Loads a text edge list.
+     * Time Complexity: O(V + E + file size)
+     */
+    public CsrGraph loadText(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            begin();
+            scanText(channel);
+            allocate();
+            scanText(channel);
+            return finish();
+        }
+    }
+
+    /**
+     * Returns the ID used in the file for a dense vertex ID of the last loaded graph.
+     */
+    public int originalId(int vertex) {
+        return originalIds[vertex];
+    }
+
+    /**
+     * Returns a copy of the dense-to-original ID table of the last loaded graph.
+     */
+    public int[] originalIds() {
+        return originalIds.clone();
+    }
+
+    // --- Passes ---
+
+    private void begin() {
+        pass = 1;
+        edgeCount = 0;
+        remapping = new IdRemapping(1024);
+        outOffsets = new int[1024];
+        inOffsets = new int[1024];
+    }
+
+    /**
+     * Between the passes: degree counts become CSR offsets, edge arrays are allocated.
+     */
+    private void allocate() throws IOException {
+        if (edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many edges for int-indexed CSR: " + edgeCount);
+        }
+        int n = remapping.size();
+        // Counts were stored at index v + 1, so a prefix sum yields the offsets
+        outOffsets = Arrays.copyOf(outOffsets, n + 1);
+        inOffsets = Arrays.copyOf(inOffsets, n + 1);
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        outFill = Arrays.copyOf(outOffsets, n);
+        inFill = Arrays.copyOf(inOffsets, n);
+        targets = new int[(int) edgeCount];
+        sources = new int[(int) edgeCount];
+        pass = 2;
+    }
+
+    private CsrGraph finish() {
+        originalIds = remapping.originalIds();
+        CsrGraph graph = new CsrGraph(remapping.size(), outOffsets, targets, inOffsets, sources);
+        outOffsets = inOffsets = outFill = inFill = targets = sources = null;
+        remapping = null;
+        return graph;
+    }
+
+    private void acceptEdge(int from, int to) {
+        if (pass == 1) {
+            int source = remapping.assign(from);
+            int target = remapping.assign(to);
+            int needed = remapping.size() + 1;
+            if (needed > outOffsets.length) {
+                outOffsets = Arrays.copyOf(outOffsets, Math.max(needed, outOffsets.length * 2));
+                inOffsets = Arrays.copyOf(inOffsets, outOffsets.length);
+            }
+            outOffsets[source + 1]++;
+            inOffsets[target + 1]++;
+            edgeCount++;
+        } else {
+            int source = remapping.get(from);
+            int target = remapping.get(to);
+            targets[outFill[source]++] = target;
+            sources[inFill[target]++] = source;
+        }
+    }
+
+    // --- Binary format ---
+
+    private void scanBinary(FileChannel channel) throws IOException {
+        long bytes = channel.size();
+        for (long offset = 0; offset < bytes; offset += MAP_CHUNK_BYTES) {
+            long length = Math.min(MAP_CHUNK_BYTES, bytes - offset);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            IntBuffer ints = region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            while (ints.hasRemaining()) {
+                acceptEdge(ints.get(), ints.get());
+            }
+        }
+    }
+
+    // --- Text format ---
+
+    private void scanText(FileChannel channel) throws IOException {
+        lineNumber = 1;
+        fieldCount = 0;
+        inNumber = false;
+        negative = false;
+        skipRestOfLine = false;
+        lineStart = true;
+
+        long bytes = channel.size();
+        for (long offset = 0; offset < bytes; offset += MAP_CHUNK_BYTES) {
+            long length = Math.min(MAP_CHUNK_BYTES, bytes - offset);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            for (int i = 0; i < length; i++) {
+                parseByte(region.get(i));
+            }
+        }
+        parseByte((byte) '\n'); // Terminate a last line without newline
+    }
+
+    /**
+     * Byte-level state machine, so numbers and lines may span mapped regions.
+     */
+    private void parseByte(byte b) throws IOException {
+        if (b == '\n') {
+            endField();
+            if (fieldCount == 1) {
+                throw new IOException("Line " + lineNumber + ": expected 'source target'");
+            }
+            lineNumber++;
+            fieldCount = 0;
+            skipRestOfLine = false;
+            lineStart = true;
+            return;
+        }
+        if (skipRestOfLine) {
+            return;
+        }
+        if (lineStart) {
+            if (b == '#' || b == '%') {
+                // Comment line (possibly indented)
+                skipRestOfLine = true;
+                return;
+            }
+            if (b == ' ' || b == '\t' || b == '\r') {
+                return; // Leading whitespace: a comment may still follow
+            }
+            lineStart = false;
+        }
+
+        if (b >= '0' && b <= '9') {
+            if (!inNumber) {
+                inNumber = true;
+                value = 0;
+            }
+            value = value * 10 + (b - '0');
+            if (value > 1L + Integer.MAX_VALUE) {
+                throw new IOException("Line " + lineNumber + ": vertex ID out of int range");
+            }
+        } else if (b == '-' && !inNumber) {
+            negative = true;
+        } else if (b == ' ' || b == '\t' || b == ',' || b == '\r') {
+            endField();
+        } else {
+            throw new IOException("Line " + lineNumber + ": unexpected character '" + (char) b + "'");
+        }
+    }
+
+    private void endField() throws IOException {
+        if (!inNumber) {
+            negative = false;
+            return;
+        }
+        long id = negative ? -value : value;
+        if (id > Integer.MAX_VALUE) {
+            throw new IOException("Line " + lineNumber + ": vertex ID out of int range");
+        }
+        inNumber = false;
+        negative = false;
+
+        fieldCount++;
+        if (fieldCount == 1) {
+            firstField = (int) id;
+        } else {
+            acceptEdge(firstField, (int) id);
+            skipRestOfLine = true; // Further columns (e.g. weights) are ignored
+        }
+    }
+
+    /**
+     * Open-addressing map from original IDs to dense IDs (linear probing, power-of-two capacity).
+     * Key and value of a slot sit next to each other in one int[] (one cache miss per probe);
+     * an empty slot has value -1.
+     */
+    private static final class IdRemapping {
+        private int[] slots;               // [key0, value0, key1, value1, ...]
+        private int[] order = new int[16]; // dense -> original
+        private int size;
+
+        IdRemapping(int capacity) {
+            slots = newSlots(capacity);
+        }
+
+        int size() { return size; }
+
+        /** Returns the dense ID of key, assigning the next one if the key is new. */
+        int assign(int key) {
+            int slot = find(slots, key);
+            if (slots[slot + 1] != -1) {
+                return slots[slot + 1];
+            }
+            if (size == order.length) {
+                order = Arrays.copyOf(order, size * 2);
+            }
+            slots[slot] = key;
+            slots[slot + 1] = size;
+            order[size] = key;
+            size++;
+            if (4 * size > slots.length) { // Load factor 0.5
+                grow();
+            }
+            return size - 1;
+        }
+
+        /** Returns the dense ID of a key that was assigned before. */
+        int get(int key) {
+            return slots[find(slots, key) + 1];
+        }
+
+        int[] originalIds() {
+            return Arrays.copyOf(order, size);
+        }
+
+        /** Returns the array index of the key's slot, or of the empty slot where it belongs. */
+        private static int find(int[] slots, int key) {
+            int mask = slots.length - 2; // Capacity is a power of two, two ints per slot
+            int slot = (mix(key) << 1) & mask;
+            while (slots[slot + 1] != -1 && slots[slot] != key) {
+                slot = (slot + 2) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = newSlots(old.length); // Twice the capacity
+            for (int i = 0; i < old.length; i += 2) {
+                if (old[i + 1] != -1) {
+                    int slot = find(slots, old[i]);
+                    slots[slot] = old[i];
+                    slots[slot + 1] = old[i + 1];
+                }
+            }
+        }
+
+        private static int[] newSlots(int capacity) {
+            int[] result = new int[2 * capacity];
+            Arrays.fill(result, -1);
+            return result;
+        }
+
+        /** Murmur3 finalizer: spreads sequential IDs over the table. */
+        private static int mix(int key) {
+            int h = key;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+}
@@ -1,72 +1,40 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * Solves the "Feedback Vertex Set" problem using a Greedy approach.
  * The goal is to find a minimal set of vertices to remove so that the graph becomes acyclic.
  * Uses Depth-First Search (DFS) for cycle detection.
+ * Instances keep reusable scratch buffers and must not be shared between threads.
  */
 public class FeedbackVertexSetSolver {
 
     /**
-     * Depth-First Search (DFS) to detect cycles in a directed graph.
-     * * @param vertex  Current vertex ID
-     * @param visited Array tracking visited vertices in general
-     * @param stack   Recursion stack to detect back-edges (cycles in current path)
-     * @param g       The Graph structure
-     * @return true if a cycle is found, false otherwise.
+     * Reused across calls so that repeated acyclicity checks do not allocate scratch arrays.
+     * Makes solver instances not thread-safe.
      */
-    private boolean dfs(int vertex, boolean[] visited, boolean[] stack, Graph g) {
-        visited[vertex] = true;
-        stack[vertex] = true;
-
-        int[] successors = g.getSuccessors(vertex);
-
-        if (successors != null) {
-            for (int neighbor : successors) {
-                if (!visited[neighbor]) {
-                    // Recursive call for unvisited neighbors
-                    if (dfs(neighbor, visited, stack, g)) {
-                        return true;
-                    }
-                } else if (stack[neighbor]) {
-                    // If neighbor is in current recursion stack -> Cycle detected
-                    return true;
-                }
-            }
-        }
-
-        stack[vertex] = false; // Backtrack
-        return false;
-    }
+    private final CycleDetector cycleDetector = new CycleDetector();
 
     /**
      * Checks if the entire graph contains any cycles.
-     * Iterates through all components of the graph (in case it's disconnected).
+     * Uses an iterative DFS (see {@link CycleDetector}), so deep graphs cannot overflow the stack.
      */
     public boolean isAcyclic(Graph g) {
-        int[] vertices = g.getVertices();
-        if (vertices == null || vertices.length == 0) {
-            return true;
-        }
-
-        // Determine array size based on max ID
-        int maxIDNum = Integer.MIN_VALUE;
-        for (int vertex : vertices) {
-            maxIDNum = Math.max(vertex, maxIDNum);
-        }
-
-        boolean[] visited = new boolean[maxIDNum + 1];
-        boolean[] stack = new boolean[maxIDNum + 1];
+        return cycleDetector.isAcyclic(g);
+    }
 
-        for (int vertex : vertices) {
-            if (!visited[vertex]) {
-                if (dfs(vertex, visited, stack, g)) {
-                    return false; // Cycle found
-                }
-            }
-        }
-        return true;
+    /**
+     * Finds one cycle of the graph, e.g. to let a strategy choose among its vertices.
+     * @return The cycle's vertices in edge order, or null if the graph is acyclic.
+     */
+    public int[] findCycle(Graph g) {
+        return cycleDetector.findCycle(g);
     }
 
     // --- Heuristics Strategies ---
@@ -74,6 +42,7 @@ public class FeedbackVertexSetSolver {
     /**
      * Heuristic 1: Sum of In-Degree and Out-Degree.
      * Prioritizes nodes that are highly connected generally.
+     * Degree-based: can be wrapped with {@link Heuristic#degreeBased(Heuristic)}.
      */
     public double scoreByDegreeSum(Graph g, int vertex) {
         int inDeg = g.inDegree(vertex);
@@ -86,6 +55,7 @@ public class FeedbackVertexSetSolver {
     /**
      * Heuristic 2: Product of In-Degree and Out-Degree.
      * Prioritizes nodes that act as "hubs" (flow passing through).
+     * Degree-based: can be wrapped with {@link Heuristic#degreeBased(Heuristic)}.
      */
     public double scoreByDegreeProduct(Graph g, int vertex) {
         int inDeg = g.inDegree(vertex);
@@ -98,6 +68,7 @@ public class FeedbackVertexSetSolver {
     /**
      * Heuristic 3: Balanced Flow.
      * Penalizes nodes where In-Degree and Out-Degree are very different.
+     * Degree-based: can be wrapped with {@link Heuristic#degreeBased(Heuristic)}.
      */
     public double scoreByBalancedFlow(Graph g, int vertex) {
         int inDeg = g.inDegree(vertex);
@@ -147,4 +118,510 @@ public class FeedbackVertexSetSolver {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Greedy solver working on Strongly Connected Components.
+     * Only vertices inside a cyclic SCC (more than one vertex, or a self-loop) can lie on a cycle,
+     * so everything else is dropped up front. After a removal, SCCs are recomputed only inside
+     * the component that lost the vertex; all other components are unaffected.
+     * Heuristics are evaluated on the full graph exactly as in {@link #solve}.
+     * * @param g The graph to process (will be modified!)
+     * @param h The heuristic strategy to use (Functional Interface)
+     * @param feedbackVertexSet Array to store the result
+     * @return The number of vertices written to feedbackVertexSet
+     */
+    public int solveByComponents(Graph g, Heuristic h, int[] feedbackVertexSet) {
+        StronglyConnectedComponents scc = new StronglyConnectedComponents();
+        Deque<int[]> cyclicComponents = new ArrayDeque<>();
+
+        int[] vertices = g.getVertices();
+        if (vertices == null) {
+            return 0;
+        }
+        pushCyclicComponents(g, scc, vertices, vertices.length, cyclicComponents);
+
+        int index = 0;
+        while (!cyclicComponents.isEmpty()) {
+            int[] component = cyclicComponents.pop();
+
+            // Find best candidate within this component
+            int bestPosition = 0;
+            double maxHeuristic = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < component.length; i++) {
+                double heuristicValue = h.eval(g, component[i]);
+                if (heuristicValue > maxHeuristic) {
+                    maxHeuristic = heuristicValue;
+                    bestPosition = i;
+                }
+            }
+
+            int vertexToDelete = component[bestPosition];
+            feedbackVertexSet[index++] = vertexToDelete;
+            g.removeVertex(vertexToDelete);
+
+            // Only the rest of this component can have changed: split it again
+            component[bestPosition] = component[component.length - 1];
+            pushCyclicComponents(g, scc, component, component.length - 1, cyclicComponents);
+        }
+        return index;
+    }
+
+    /**
+     * Decomposes vertices[0, count) into SCCs and queues those that still contain a cycle.
+     */
+    private void pushCyclicComponents(Graph g, StronglyConnectedComponents scc,
+                                      int[] vertices, int count, Deque<int[]> worklist) {
+        int components = scc.compute(g, vertices, count);
+        for (int c = 0; c < components; c++) {
+            if (scc.componentSize(c) > 1 || StronglyConnectedComponents.hasSelfLoop(g, scc.firstMember(c))) {
+                worklist.push(scc.component(c));
+            }
+        }
+    }
+
+    /**
+     * Greedy solver backed by an indexed priority queue of heuristic scores.
+     * Instead of re-evaluating every remaining vertex per round, scores are kept in a
+     * max-heap. For degree-based heuristics (see {@link Heuristic#isDegreeBased()}) only the
+     * successors and predecessors of a removed vertex are re-scored, so a round costs
+     * O(deg * log V). Other heuristics can change anywhere in the graph, so the heap only tracks
+     * which vertices remain and each pick scans them all once, O(V) per pick, as in {@link #solve}.
+     * * Vertices whose in- or out-degree drops to 0 lie on no cycle; they are peeled off
+     * (removed from g and the heap, but not added to the result) as soon as that happens.
+     * This replaces the per-round acyclicity check: the heap is empty exactly when the
+     * graph without the result is acyclic, and sources or sinks are never picked.
+     * * @param g The graph to process (will be modified: result vertices and peeled vertices are removed)
+     * @param h The heuristic strategy to use (Functional Interface)
+     * @param feedbackVertexSet Array to store the result
+     * @return The number of vertices written to feedbackVertexSet
+     */
+    public int solveWithPriorityQueue(Graph g, Heuristic h, int[] feedbackVertexSet) {
+        int[] vertices = g.getVertices();
+        if (vertices == null || vertices.length == 0) {
+            return 0;
+        }
+
+        PredecessorIndex predecessors = new PredecessorIndex(g, vertices);
+        IndexedMaxHeap scores = new IndexedMaxHeap(predecessors.idLimit());
+        for (int vertex : vertices) {
+            scores.insert(vertex, h.isDegreeBased() ? h.eval(g, vertex) : 0); // Else membership only
+        }
+
+        // Vertices to check for in- or out-degree 0
+        Worklist worklist = new Worklist(predecessors.idLimit());
+        for (int vertex : vertices) {
+            worklist.push(vertex);
+        }
+
+        int index = 0;
+        while (true) {
+            // Peel sources and sinks until none are left
+            while (!worklist.isEmpty()) {
+                int vertex = worklist.pop();
+                if (scores.contains(vertex) && (g.inDegree(vertex) == 0 || g.outDegree(vertex) == 0)) {
+                    removeAndRescore(g, h, vertex, predecessors, scores, worklist);
+                }
+            }
+            if (scores.isEmpty()) {
+                return index;
+            }
+
+            int vertexToDelete = h.isDegreeBased() ? scores.peek() : findBest(g, h, vertices, scores);
+            feedbackVertexSet[index++] = vertexToDelete;
+            removeAndRescore(g, h, vertexToDelete, predecessors, scores, worklist);
+        }
+    }
+
+    /**
+     * Removes a vertex from g and the heap, re-scores the neighbors (degree-based heuristics only)
+     * and queues them, since their degrees just dropped.
+     */
+    private static void removeAndRescore(Graph g, Heuristic h, int vertex, PredecessorIndex predecessors,
+                                         IndexedMaxHeap scores, Worklist worklist) {
+        int[] successors = g.getSuccessors(vertex); // Read before the edges disappear
+        g.removeVertex(vertex);
+        scores.remove(vertex);
+
+        if (successors != null) {
+            for (int neighbor : successors) {
+                touch(g, h, neighbor, scores, worklist);
+            }
+        }
+        for (int p = predecessors.start(vertex); p < predecessors.end(vertex); p++) {
+            touch(g, h, predecessors.source(p), scores, worklist);
+        }
+    }
+
+    /**
+     * Highest-scoring vertex still in the heap, evaluated now (first one wins ties).
+     */
+    private static int findBest(Graph g, Heuristic h, int[] vertices, IndexedMaxHeap scores) {
+        int best = -1;
+        double maxHeuristic = Double.NEGATIVE_INFINITY;
+        for (int vertex : vertices) {
+            if (scores.contains(vertex)) {
+                double heuristicValue = h.eval(g, vertex);
+                if (heuristicValue > maxHeuristic || best == -1) {
+                    maxHeuristic = heuristicValue;
+                    best = vertex;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void touch(Graph g, Heuristic h, int vertex, IndexedMaxHeap scores, Worklist worklist) {
+        if (scores.contains(vertex)) {
+            if (h.isDegreeBased()) {
+                scores.update(vertex, h.eval(g, vertex));
+            }
+            worklist.push(vertex);
+        }
+    }
+
+    /**
+     * Greedy solver that first shrinks the graph with the standard FVS reduction rules
+     * (see {@link KernelReduction}) and only runs the heuristic loop on the remaining kernel.
+     * After every greedy removal the rules are applied again to the affected neighbors.
+     * The kernel is empty exactly when the graph is acyclic, so no separate DFS check is needed.
+     * Degree-based heuristics are kept in an {@link IndexedMaxHeap}; others are re-scored every round.
+     * * @param g The graph to process (will be modified!)
+     * @param h The heuristic strategy to use (Functional Interface)
+     * @param feedbackVertexSet Array to store the result
+     * @return The number of vertices written to feedbackVertexSet
+     */
+    public int solveWithReduction(Graph g, Heuristic h, int[] feedbackVertexSet) {
+        KernelReduction kernel = new KernelReduction(g);
+        int index = kernel.reduce(feedbackVertexSet, 0);
+
+        IndexedMaxHeap scores = null;
+        if (h.isDegreeBased()) {
+            scores = new IndexedMaxHeap(kernel.idLimit());
+            for (int vertex : kernel.vertices()) {
+                scores.insert(vertex, h.eval(g, vertex));
+            }
+            kernel.trackScores(h, scores);
+        }
+
+        while (!kernel.isEmpty()) {
+            int vertexToDelete;
+            if (scores != null) {
+                vertexToDelete = scores.peek();
+            } else {
+                vertexToDelete = -1;
+                double maxHeuristic = Double.NEGATIVE_INFINITY;
+                for (int vertex : kernel.vertices()) {
+                    double heuristicValue = h.eval(g, vertex);
+                    if (vertexToDelete == -1 || heuristicValue > maxHeuristic) {
+                        maxHeuristic = heuristicValue;
+                        vertexToDelete = vertex;
+                    }
+                }
+            }
+
+            feedbackVertexSet[index++] = vertexToDelete;
+            kernel.removeVertex(vertexToDelete);
+            index = kernel.reduce(feedbackVertexSet, index);
+        }
+        return index;
+    }
+
+    /**
+     * Parallel solver: every cyclic Strongly Connected Component is an independent subproblem.
+     * Same as {@link #solveParallel(Graph, Heuristic, int[], ForkJoinPool)} on the common pool.
+     */
+    public int solveParallel(Graph g, Heuristic h, int[] feedbackVertexSet) {
+        return solveParallel(g, h, feedbackVertexSet, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel solver: every cyclic Strongly Connected Component is an independent subproblem.
+     * Each component is copied into its own {@link CsrGraph} (on the calling thread, so g is only
+     * read by one thread) and solved by {@link #solveWithReduction} as a separate fork-join task.
+     * Heuristics therefore see degrees within the component and must be safe to call concurrently.
+     * Results are concatenated in component order, so the output does not depend on the thread count.
+     * * @param g The graph to process (will be modified: the result vertices are removed)
+     * @param h The heuristic strategy to use (Functional Interface)
+     * @param feedbackVertexSet Array to store the result
+     * @param pool The pool that runs the component tasks
+     * @return The number of vertices written to feedbackVertexSet
+     */
+    public int solveParallel(Graph g, Heuristic h, int[] feedbackVertexSet, ForkJoinPool pool) {
+        int[] vertices = g.getVertices();
+        if (vertices == null || vertices.length == 0) {
+            return 0;
+        }
+
+        StronglyConnectedComponents scc = new StronglyConnectedComponents();
+        int components = scc.compute(g, vertices, vertices.length);
+
+        int maxID = -1;
+        for (int vertex : vertices) {
+            maxID = Math.max(maxID, vertex);
+        }
+        int[] componentOf = new int[maxID + 1];
+        int[] localID = new int[maxID + 1];
+
+        List<ComponentTask> tasks = new ArrayList<>();
+        for (int c = 0; c < components; c++) {
+            if (scc.componentSize(c) > 1 || StronglyConnectedComponents.hasSelfLoop(g, scc.firstMember(c))) {
+                int[] members = scc.component(c);
+                for (int i = 0; i < members.length; i++) {
+                    componentOf[members[i]] = tasks.size() + 1; // 0 = not in a cyclic component
+                    localID[members[i]] = i;
+                }
+                tasks.add(new ComponentTask(extractComponent(g, members, tasks.size() + 1, componentOf, localID), members, h));
+            }
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        // Deterministic merge: component order, then the order within each component
+        int index = 0;
+        for (ComponentTask task : tasks) {
+            for (int i = 0; i < task.resultSize; i++) {
+                int vertex = task.members[task.result[i]];
+                feedbackVertexSet[index++] = vertex;
+                g.removeVertex(vertex);
+            }
+        }
+        return index;
+    }
+
+    // --- Anytime Solver ---
+
+    /**
+     * Time-budgeted (anytime) solver.
+     * First computes a greedy answer with {@link #solveWithReduction}, then spends at most the rest
+     * of the budget on local search over that answer, returning early at a local optimum:
+     * 1. Redundancy elimination: put a removed vertex back if it closes no cycle.
+     * 2. 2-for-1 swaps: put two vertices u, v back and look for a single vertex w on a cycle
+     *    through u whose removal leaves neither u nor v on a cycle.
+     * Both moves only search the part of the graph reachable from the restored vertices,
+     * because the rest is known to be acyclic.
+     * * @param g The graph to process (will be modified: the result vertices are removed)
+     * @param h The heuristic strategy for the initial greedy answer
+     * @param feedbackVertexSet Array to store the result
+     * @param timeBudgetMillis Wall-clock budget; the greedy answer is always completed
+     * @param progress Receives the size of every new best solution (may be null)
+     * @return The number of vertices written to feedbackVertexSet
+     */
+    public int solveWithTimeBudget(Graph g, Heuristic h, int[] feedbackVertexSet,
+                                   long timeBudgetMillis, IntConsumer progress) {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int[] vertices = g.getVertices();
+        if (vertices == null || vertices.length == 0) {
+            return 0;
+        }
+
+        // Dense local copies: one consumed by the greedy solver, one for local search
+        int maxID = -1;
+        for (int vertex : vertices) {
+            maxID = Math.max(maxID, vertex);
+        }
+        int[] inCopy = new int[maxID + 1];
+        int[] localID = new int[maxID + 1];
+        for (int i = 0; i < vertices.length; i++) {
+            inCopy[vertices[i]] = 1;
+            localID[vertices[i]] = i;
+        }
+        CsrGraph greedyGraph = extractComponent(g, vertices, 1, inCopy, localID);
+        CsrGraph searchGraph = extractComponent(g, vertices, 1, inCopy, localID);
+
+        int[] solution = new int[vertices.length];
+        int size = new FeedbackVertexSetSolver().solveWithReduction(greedyGraph, h, solution);
+        if (progress != null) {
+            progress.accept(size);
+        }
+
+        for (int i = 0; i < size; i++) {
+            searchGraph.removeVertex(solution[i]);
+        }
+        size = improveLocally(searchGraph, solution, size, deadline, progress);
+
+        for (int i = 0; i < size; i++) {
+            int vertex = vertices[solution[i]];
+            feedbackVertexSet[i] = vertex;
+            g.removeVertex(vertex);
+        }
+        return size;
+    }
+
+    /**
+     * Local search on a graph from which solution[0, size) has been removed (so it is acyclic).
+     * Tries the 2-for-1 swap on every ordered pair of solution vertices and starts a new pass after
+     * each improvement; stops at the deadline or after a full pass without one (a local optimum).
+     * @return The new solution size (solution is updated in place)
+     */
+    private int improveLocally(CsrGraph g, int[] solution, int size, long deadline, IntConsumer progress) {
+        CycleDetector detector = new CycleDetector();
+
+        size = removeRedundant(g, detector, solution, size, deadline, progress);
+
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+            pass:
+            for (int a = 0; a < size; a++) {
+                for (int b = 0; b < size; b++) {
+                    if (a == b) {
+                        continue;
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        return size;
+                    }
+                    int replacement = findSwap(g, detector, solution[a], solution[b], deadline);
+                    if (replacement == -1) {
+                        continue;
+                    }
+
+                    // Replace u by w and drop v
+                    solution[a] = replacement;
+                    solution[b] = solution[size - 1];
+                    size--;
+                    if (progress != null) {
+                        progress.accept(size);
+                    }
+                    size = removeRedundant(g, detector, solution, size, deadline, progress);
+                    improved = true;
+                    break pass;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 2-for-1 swap: puts u and v back and looks for a single vertex w that breaks every cycle.
+     * @return w, left removed from the graph, or -1 with u and v removed again
+     */
+    private int findSwap(CsrGraph g, CycleDetector detector, int u, int v, long deadline) {
+        g.restoreVertex(u);
+        g.restoreVertex(v);
+
+        // Every cycle now runs through u or v; w must break all of them, so it lies on one through u
+        int[] cycle = detector.findCycleThrough(g, u);
+        if (cycle != null) {
+            for (int w : cycle) {
+                if (w == u || w == v || System.nanoTime() >= deadline) {
+                    continue;
+                }
+                g.removeVertex(w);
+                if (!detector.isOnCycle(g, u) && !detector.isOnCycle(g, v)) {
+                    return w;
+                }
+                g.restoreVertex(w);
+            }
+        }
+
+        // No improving swap for this pair: undo
+        g.removeVertex(u);
+        g.removeVertex(v);
+        return -1;
+    }
+
+    /**
+     * Puts back every solution vertex that does not lie on a cycle once restored.
+     */
+    private int removeRedundant(CsrGraph g, CycleDetector detector, int[] solution, int size,
+                                long deadline, IntConsumer progress) {
+        for (int i = size - 1; i >= 0 && System.nanoTime() < deadline; i--) {
+            int vertex = solution[i];
+            g.restoreVertex(vertex);
+            if (detector.isOnCycle(g, vertex)) {
+                g.removeVertex(vertex); // Still needed
+            } else {
+                solution[i] = solution[--size];
+                if (progress != null) {
+                    progress.accept(size);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Copies the subgraph induced by one component into a CsrGraph with local IDs 0..k-1.
+     */
+    private CsrGraph extractComponent(Graph g, int[] members, int component, int[] componentOf, int[] localID) {
+        int edgeCount = 0;
+        int[] from = new int[members.length];
+        int[] to = new int[members.length];
+
+        for (int i = 0; i < members.length; i++) {
+            int[] successors = g.getSuccessors(members[i]);
+            if (successors == null) {
+                continue;
+            }
+            for (int neighbor : successors) {
+                if (neighbor < componentOf.length && componentOf[neighbor] == component) {
+                    if (edgeCount == from.length) {
+                        from = Arrays.copyOf(from, edgeCount * 2);
+                        to = Arrays.copyOf(to, edgeCount * 2);
+                    }
+                    from[edgeCount] = i;
+                    to[edgeCount] = localID[neighbor];
+                    edgeCount++;
+                }
+            }
+        }
+        return CsrGraph.fromEdges(members.length, from, to, edgeCount);
+    }
+
+    /**
+     * Solves one component on its own local graph with its own solver instance.
+     */
+    private static final class ComponentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CsrGraph local;
+        private final int[] members; // local ID -> global ID
+        private final Heuristic h;
+        int[] result;
+        int resultSize;
+
+        ComponentTask(CsrGraph local, int[] members, Heuristic h) {
+            this.local = local;
+            this.members = members;
+            this.h = h;
+        }
+
+        @Override
+        protected void compute() {
+            result = new int[members.length];
+            resultSize = new FeedbackVertexSetSolver().solveWithReduction(local, h, result);
+        }
+    }
+
+    /** Stack of vertex IDs without duplicates. */
+    private static final class Worklist {
+        private final int[] items;
+        private final boolean[] queued;
+        private int size;
+
+        Worklist(int idLimit) {
+            items = new int[idLimit];
+            queued = new boolean[idLimit];
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        void push(int vertex) {
+            if (!queued[vertex]) {
+                queued[vertex] = true;
+                items[size++] = vertex;
+            }
+        }
+
+        int pop() {
+            int vertex = items[--size];
+            queued[vertex] = false;
+            return vertex;
+        }
+    }
+}
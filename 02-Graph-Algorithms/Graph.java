@@ -29,4 +29,14 @@ public interface Graph {
      * Removes a vertex and all incident edges from the graph.
      */
     void removeVertex(int vertex);
+
+    /**
+     * Optional: replaces a vertex with exactly one incoming edge (u -> vertex) and one
+     * outgoing edge (vertex -> w) by the edge u -> w, then removes the vertex.
+     * Used by kernelization; implementations that cannot add edges keep this default.
+     * @return true if the vertex was bypassed, false if unsupported or not applicable (graph unchanged).
+     */
+    default boolean bypassVertex(int vertex) {
+        return false;
+    }
 }
\ No newline at end of file
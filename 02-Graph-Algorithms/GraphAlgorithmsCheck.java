@@ -0,0 +1,660 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Randomized self-check for the graph module.
+ * The optimized structures and solvers are compared against a plain edge-list graph and
+ * textbook reference algorithms (Kahn's topological sort, reachability) on random graphs.
+ * Usage: java GraphAlgorithmsCheck [seed]
+ * Prints one line per check and throws IllegalStateException on the first mismatch.
+ */
+public class GraphAlgorithmsCheck {
+
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        Random random = new Random(seed);
+        System.out.println("Seed " + seed);
+
+        checkCsrGraph(random);
+        checkCycleDetection(random);
+        checkStronglyConnectedComponents(random);
+        checkIndexedMaxHeap(random);
+        checkPriorityQueueSolver(random);
+        checkKernelReduction(random);
+        checkParallelSolver(random);
+        checkTimeBudget(random);
+        checkEdgeListLoader(random);
+    }
+
+    /**
+     * CsrGraph degrees and successors against EdgeListGraph under removals, restores and bypasses.
+     */
+    private static void checkCsrGraph(Random random) {
+        for (int round = 0; round < 300; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(40), 3);
+            CsrGraph csr = reference.toCsr();
+
+            for (int step = 0; step < 40; step++) {
+                int vertex = random.nextInt(reference.vertexCount);
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    csr.removeVertex(vertex);
+                    reference.removeVertex(vertex);
+                } else if (operation == 1) {
+                    // Restore is only defined for plain removals, which is all the reference has seen
+                    if (!reference.bypassed[vertex]) {
+                        csr.restoreVertex(vertex);
+                        reference.removed[vertex] = false;
+                    }
+                } else {
+                    boolean expected = reference.canBypass(vertex);
+                    check(csr.bypassVertex(vertex) == expected, "CsrGraph.bypassVertex result", round);
+                    if (expected) {
+                        reference.bypass(vertex);
+                    }
+                }
+                compareGraphs(reference, csr, round);
+            }
+        }
+        System.out.println("CsrGraph: OK");
+    }
+
+    private static void compareGraphs(EdgeListGraph reference, CsrGraph csr, int round) {
+        check(Arrays.equals(reference.getVertices(), csr.getVertices()), "CsrGraph.getVertices", round);
+        check(csr.liveVertexCount() == reference.getVertices().length, "CsrGraph.liveVertexCount", round);
+        for (int v = 0; v < reference.vertexCount; v++) {
+            check(csr.inDegree(v) == reference.inDegree(v) && csr.outDegree(v) == reference.outDegree(v),
+                    "CsrGraph degrees of " + v, round);
+            check(Arrays.equals(sorted(csr.getSuccessors(v)), sorted(reference.getSuccessors(v))),
+                    "CsrGraph successors of " + v, round);
+        }
+    }
+
+    /**
+     * CycleDetector (and the solver's isAcyclic/findCycle) against Kahn's algorithm and reachability.
+     */
+    private static void checkCycleDetection(Random random) {
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        CycleDetector detector = new CycleDetector();
+        for (int round = 0; round < 500; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(30), 1 + random.nextInt(2));
+            CsrGraph csr = reference.toCsr();
+            for (int i = random.nextInt(5); i > 0; i--) {
+                int vertex = random.nextInt(reference.vertexCount);
+                reference.removeVertex(vertex);
+                csr.removeVertex(vertex);
+            }
+
+            boolean acyclic = reference.isAcyclicByKahn();
+            check(detector.isAcyclic(csr) == acyclic && solver.isAcyclic(reference) == acyclic, "isAcyclic", round);
+
+            for (Graph g : new Graph[] { reference, csr }) {
+                int[] cycle = solver.findCycle(g);
+                check((cycle == null) == acyclic, "findCycle existence", round);
+                if (cycle != null) {
+                    checkCycle(reference, cycle, round);
+                }
+            }
+
+            for (int v : reference.getVertices()) {
+                boolean onCycle = reference.reaches(v, v, null);
+                check(detector.isOnCycle(csr, v) == onCycle, "isOnCycle(" + v + ")", round);
+                int[] cycle = detector.findCycleThrough(csr, v);
+                check((cycle != null) == onCycle, "findCycleThrough existence", round);
+                if (cycle != null) {
+                    check(cycle[0] == v, "findCycleThrough starts at the vertex", round);
+                    checkCycle(reference, cycle, round);
+                }
+            }
+        }
+        System.out.println("Cycle detection: OK");
+    }
+
+    /** The cycle must consist of distinct live vertices joined by live edges, closing back to the start. */
+    private static void checkCycle(EdgeListGraph reference, int[] cycle, int round) {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < cycle.length; i++) {
+            check(seen.add(cycle[i]) && !reference.removed[cycle[i]], "cycle vertices distinct and live", round);
+            check(reference.hasEdge(cycle[i], cycle[(i + 1) % cycle.length]), "cycle edge", round);
+        }
+    }
+
+    /**
+     * Tarjan SCCs on random vertex subsets against mutual reachability in the induced subgraph,
+     * and the SCC-decomposed solver for a valid result.
+     */
+    private static void checkStronglyConnectedComponents(Random random) {
+        StronglyConnectedComponents scc = new StronglyConnectedComponents();
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        Heuristic h = Heuristic.degreeBased(solver::scoreByDegreeSum);
+        for (int round = 0; round < 300; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(30), 1 + random.nextInt(2));
+            int[] subset = new int[reference.vertexCount];
+            int count = 0;
+            boolean[] inSubset = new boolean[reference.vertexCount];
+            for (int v = 0; v < reference.vertexCount; v++) {
+                if (random.nextInt(4) != 0) {
+                    subset[count++] = v;
+                    inSubset[v] = true;
+                }
+            }
+
+            int components = scc.compute(reference, subset, count);
+            int[] componentOf = new int[reference.vertexCount];
+            Arrays.fill(componentOf, -1);
+            int total = 0;
+            for (int c = 0; c < components; c++) {
+                int[] members = scc.component(c);
+                check(members.length == scc.componentSize(c) && members[0] == scc.firstMember(c), "component accessors", round);
+                for (int v : members) {
+                    check(inSubset[v] && componentOf[v] == -1, "component members in scope and disjoint", round);
+                    componentOf[v] = c;
+                }
+                total += members.length;
+            }
+            check(total == count, "components cover the subset", round);
+
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < count; j++) {
+                    int u = subset[i];
+                    int v = subset[j];
+                    boolean together = u == v || (reference.reaches(u, v, inSubset) && reference.reaches(v, u, inSubset));
+                    check((componentOf[u] == componentOf[v]) == together, "SCC of " + u + " and " + v, round);
+                }
+            }
+
+            int[] result = new int[reference.vertexCount];
+            checkSolution(reference, result, solver.solveByComponents(reference.copy(), h, result), "solveByComponents", round);
+        }
+        System.out.println("Strongly connected components: OK");
+    }
+
+    /**
+     * IndexedMaxHeap against a plain key array scanned for the maximum.
+     */
+    private static void checkIndexedMaxHeap(Random random) {
+        for (int round = 0; round < 200; round++) {
+            int capacity = 1 + random.nextInt(100);
+            IndexedMaxHeap heap = new IndexedMaxHeap(capacity);
+            double[] keys = new double[capacity];
+            boolean[] present = new boolean[capacity];
+            int size = 0;
+
+            for (int step = 0; step < 500; step++) {
+                int id = random.nextInt(capacity);
+                double key = random.nextInt(20); // Many ties
+                switch (random.nextInt(4)) {
+                    case 0:
+                        if (!present[id]) {
+                            heap.insert(id, key);
+                            keys[id] = key;
+                            present[id] = true;
+                            size++;
+                        }
+                        break;
+                    case 1:
+                        if (present[id]) {
+                            heap.update(id, key);
+                            keys[id] = key;
+                        }
+                        break;
+                    case 2:
+                        if (present[id]) {
+                            size--;
+                        }
+                        heap.remove(id);
+                        present[id] = false;
+                        break;
+                    default:
+                        if (size > 0) {
+                            double max = Double.NEGATIVE_INFINITY;
+                            for (int i = 0; i < capacity; i++) {
+                                if (present[i]) {
+                                    max = Math.max(max, keys[i]);
+                                }
+                            }
+                            check(heap.peekKey() == max, "IndexedMaxHeap.peekKey", round);
+                            int top = heap.poll();
+                            check(present[top] && keys[top] == max, "IndexedMaxHeap.poll", round);
+                            present[top] = false;
+                            size--;
+                        }
+                }
+                check(heap.size() == size && heap.isEmpty() == (size == 0), "IndexedMaxHeap.size", round);
+                check(heap.contains(id) == present[id], "IndexedMaxHeap.contains", round);
+            }
+        }
+        System.out.println("Indexed max-heap: OK");
+    }
+
+    /**
+     * solveWithPriorityQueue must return a valid set for degree-based and other heuristics, and
+     * peeling must not re-score the whole graph for the latter.
+     */
+    private static void checkPriorityQueueSolver(Random random) {
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        Heuristic[] heuristics = {
+                Heuristic.degreeBased(solver::scoreByDegreeSum),
+                Heuristic.degreeBased(solver::scoreByDegreeProduct),
+                solver::scoreByBalancedFlow // Not marked degree-based: scanned per pick
+        };
+        for (int round = 0; round < 300; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(40), 1 + random.nextInt(3));
+            Heuristic h = heuristics[round % heuristics.length];
+            int[] result = new int[reference.vertexCount];
+            checkSolution(reference, result, solver.solveWithPriorityQueue(reference.copy(), h, result), "solveWithPriorityQueue", round);
+            checkSolution(reference, result, solver.solveWithPriorityQueue(reference.toCsr(), h, result), "solveWithPriorityQueue (CSR)", round);
+        }
+
+        // A long path with a back edge every 1000 vertices: almost every vertex is peeled, few are picked
+        int n = 50_000;
+        int[] from = new int[n + n / 1_000];
+        int[] to = new int[from.length];
+        int edges = 0;
+        for (int v = 0; v + 1 < n; v++) {
+            from[edges] = v;
+            to[edges++] = v + 1;
+        }
+        for (int v = 0; v + 999 < n; v += 1_000) {
+            from[edges] = v + 999;
+            to[edges++] = v;
+        }
+        int[] result = new int[n];
+        long start = System.nanoTime();
+        int size = solver.solveWithPriorityQueue(CsrGraph.fromEdges(n, from, to, edges), heuristics[2], result);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        check(size == n / 1_000, "solveWithPriorityQueue one vertex per cycle", 0);
+        check(elapsedMillis < 2_000, "solveWithPriorityQueue peels without re-scoring every vertex", 0);
+        System.out.println("Priority-queue solver: OK");
+    }
+
+    /**
+     * The kernel is empty exactly when the graph without the forced vertices is acyclic,
+     * and no kernel vertex is a source or sink; solveWithReduction must return a valid set.
+     */
+    private static void checkKernelReduction(Random random) {
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        Heuristic[] heuristics = {
+                Heuristic.degreeBased(solver::scoreByDegreeProduct), // Heap kept up to date by the kernel
+                solver::scoreByBalancedFlow // Not marked degree-based: re-scored every round
+        };
+        for (int round = 0; round < 500; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(40), 1 + random.nextInt(3));
+            boolean useCsr = round % 2 == 0; // CsrGraph supports the bypass rule, the reference does not
+            Graph g = useCsr ? reference.toCsr() : reference.copy();
+
+            KernelReduction kernel = new KernelReduction(g);
+            int[] forced = new int[reference.vertexCount];
+            int count = kernel.reduce(forced, 0);
+
+            EdgeListGraph rest = reference.copy();
+            for (int i = 0; i < count; i++) {
+                rest.removeVertex(forced[i]);
+            }
+            check(kernel.isEmpty() == rest.isAcyclicByKahn(), "kernel empty iff acyclic", round);
+            check(kernel.vertices().length == kernel.size(), "kernel size", round);
+            for (int v : kernel.vertices()) {
+                check(g.inDegree(v) > 0 && g.outDegree(v) > 0, "kernel has no sources or sinks", round);
+            }
+
+            Heuristic h = heuristics[(round / 2) % heuristics.length];
+            int[] result = new int[reference.vertexCount];
+            Graph fresh = useCsr ? reference.toCsr() : reference.copy();
+            checkSolution(reference, result, solver.solveWithReduction(fresh, h, result),
+                    useCsr ? "solveWithReduction (CSR)" : "solveWithReduction", round);
+        }
+        System.out.println("Kernel reduction: OK");
+    }
+
+    /**
+     * solveParallel must return a valid set that does not depend on the thread count,
+     * and must remove exactly that set from the input graph.
+     */
+    private static void checkParallelSolver(Random random) {
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        Heuristic h = Heuristic.degreeBased(solver::scoreByDegreeSum);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                // Sparse graphs have many small cyclic components, i.e. many tasks
+                EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(200), 1 + random.nextInt(2));
+                int n = reference.vertexCount;
+
+                int[] expected = new int[n];
+                int size = solver.solveParallel(reference.toCsr(), h, expected, single);
+                checkSolution(reference, expected, size, "solveParallel", round);
+
+                int[] result = new int[n];
+                CsrGraph g = reference.toCsr();
+                check(solver.solveParallel(g, h, result, pool) == size
+                        && Arrays.equals(result, 0, size, expected, 0, size), "solveParallel independent of the thread count", round);
+                check(g.liveVertexCount() == n - size && new CycleDetector().isAcyclic(g), "solveParallel removes the result", round);
+
+                check(solver.solveParallel(reference.toCsr(), h, result) == size
+                        && Arrays.equals(result, 0, size, expected, 0, size), "solveParallel on the common pool", round);
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+        System.out.println("Parallel solver: OK");
+    }
+
+    /**
+     * solveWithTimeBudget must return a valid, redundancy-free set, and stop at a local optimum
+     * long before a generous budget runs out.
+     */
+    private static void checkTimeBudget(Random random) {
+        FeedbackVertexSetSolver solver = new FeedbackVertexSetSolver();
+        Heuristic h = Heuristic.degreeBased(solver::scoreByDegreeSum);
+        long budgetMillis = 10_000;
+        for (int round = 0; round < 200; round++) {
+            EdgeListGraph reference = EdgeListGraph.random(random, 1 + random.nextInt(40), 1 + random.nextInt(3));
+            int[] result = new int[reference.vertexCount];
+            int[] best = new int[1];
+
+            long start = System.nanoTime();
+            int size = solver.solveWithTimeBudget(reference.toCsr(), h, result, budgetMillis, s -> best[0] = s);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            check(elapsedMillis < budgetMillis / 10, "solveWithTimeBudget stops at a local optimum", round);
+
+            checkSolution(reference, result, size, "solveWithTimeBudget", round);
+            check(size == 0 || best[0] == size, "solveWithTimeBudget reports the final size", round);
+
+            // Putting back any single vertex must close a cycle
+            EdgeListGraph rest = reference.copy();
+            for (int i = 0; i < size; i++) {
+                rest.removeVertex(result[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                rest.removed[result[i]] = false;
+                check(!rest.isAcyclicByKahn(), "solveWithTimeBudget leaves no redundant vertex", round);
+                rest.removed[result[i]] = true;
+            }
+        }
+        System.out.println("Time-budget solver: OK");
+    }
+
+    /**
+     * Random edge lists with sparse (also negative) IDs, written as text and binary, against CsrGraph.fromEdges.
+     */
+    private static void checkEdgeListLoader(Random random) throws IOException {
+        Path text = Files.createTempFile("edges", ".txt");
+        Path binary = Files.createTempFile("edges", ".bin");
+        try {
+            for (int round = 0; round < 50; round++) {
+                int vertexCount = 1 + random.nextInt(50);
+                int[] ids = new int[vertexCount];
+                Set<Integer> used = new HashSet<>();
+                for (int v = 0; v < vertexCount; v++) {
+                    do {
+                        ids[v] = random.nextInt() >> random.nextInt(32);
+                    } while (!used.add(ids[v]));
+                }
+                int edgeCount = random.nextInt(4 * vertexCount);
+                int[] from = new int[edgeCount];
+                int[] to = new int[edgeCount];
+
+                StringBuilder builder = new StringBuilder("# header\n");
+                ByteBuffer bytes = ByteBuffer.allocate(8 * edgeCount).order(ByteOrder.LITTLE_ENDIAN);
+                for (int e = 0; e < edgeCount; e++) {
+                    from[e] = random.nextInt(vertexCount);
+                    to[e] = random.nextInt(vertexCount);
+                    bytes.putInt(ids[from[e]]).putInt(ids[to[e]]);
+                    String separator = e % 3 == 0 ? "\t" : (e % 3 == 1 ? "," : "  ");
+                    builder.append(e % 5 == 0 ? "  " : "").append(ids[from[e]]).append(separator).append(ids[to[e]]);
+                    builder.append(e % 4 == 0 ? " 1.5\r\n" : "\n");
+                    if (e % 7 == 0) {
+                        builder.append("\t% indented comment\n\n");
+                    }
+                }
+                Files.writeString(text, builder.toString());
+                Files.write(binary, bytes.array());
+
+                EdgeListLoader loader = new EdgeListLoader();
+                for (int format = 0; format < 2; format++) {
+                    CsrGraph loaded = format == 0 ? loader.loadText(text) : loader.loadBinary(binary);
+                    List<String> expected = new ArrayList<>();
+                    for (int e = 0; e < edgeCount; e++) {
+                        expected.add(ids[from[e]] + ">" + ids[to[e]]);
+                    }
+                    List<String> actual = new ArrayList<>();
+                    int[] originalIds = loader.originalIds();
+                    for (int v = 0; v < loaded.vertexCount(); v++) {
+                        check(loader.originalId(v) == originalIds[v], "originalId", round);
+                        for (int s = loaded.successorStart(v); s < loaded.successorEnd(v); s++) {
+                            actual.add(originalIds[v] + ">" + originalIds[loaded.successorAt(s)]);
+                        }
+                    }
+                    expected.sort(null);
+                    actual.sort(null);
+                    check(expected.equals(actual), format == 0 ? "loadText edges" : "loadBinary edges", round);
+                }
+            }
+        } finally {
+            Files.delete(text);
+            Files.delete(binary);
+        }
+        System.out.println("Edge list loader: OK");
+    }
+
+    // --- Helpers ---
+
+    private static void checkSolution(EdgeListGraph reference, int[] result, int size, String solver, int round) {
+        EdgeListGraph rest = reference.copy();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            check(result[i] >= 0 && result[i] < reference.vertexCount && seen.add(result[i]), solver + " returns distinct vertices", round);
+            rest.removeVertex(result[i]);
+        }
+        check(rest.isAcyclicByKahn(), solver + " leaves the graph acyclic", round);
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values == null ? new int[0] : values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static void check(boolean condition, String what, int round) {
+        if (!condition) {
+            throw new IllegalStateException(what + " failed (round " + round + ")");
+        }
+    }
+
+    /**
+     * Reference graph: a plain edge list with removal flags. Every query rescans all edges.
+     */
+    private static final class EdgeListGraph implements Graph {
+        final int vertexCount;
+        final List<int[]> edges = new ArrayList<>();
+        final boolean[] removed;
+        final boolean[] bypassed;
+
+        EdgeListGraph(int vertexCount) {
+            this.vertexCount = vertexCount;
+            this.removed = new boolean[vertexCount];
+            this.bypassed = new boolean[vertexCount];
+        }
+
+        /** Random multigraph (self-loops and parallel edges included) with about density * n edges. */
+        static EdgeListGraph random(Random random, int vertexCount, int density) {
+            EdgeListGraph g = new EdgeListGraph(vertexCount);
+            int edgeCount = random.nextInt(density * vertexCount + 1);
+            for (int e = 0; e < edgeCount; e++) {
+                g.edges.add(new int[] { random.nextInt(vertexCount), random.nextInt(vertexCount) });
+            }
+            return g;
+        }
+
+        EdgeListGraph copy() {
+            EdgeListGraph g = new EdgeListGraph(vertexCount);
+            for (int[] edge : edges) {
+                g.edges.add(edge.clone());
+            }
+            System.arraycopy(removed, 0, g.removed, 0, vertexCount);
+            System.arraycopy(bypassed, 0, g.bypassed, 0, vertexCount);
+            return g;
+        }
+
+        /** CsrGraph with the same edges; only valid before any removal. */
+        CsrGraph toCsr() {
+            int[] from = new int[edges.size()];
+            int[] to = new int[edges.size()];
+            for (int e = 0; e < edges.size(); e++) {
+                from[e] = edges.get(e)[0];
+                to[e] = edges.get(e)[1];
+            }
+            return CsrGraph.fromEdges(vertexCount, from, to, edges.size());
+        }
+
+        boolean live(int[] edge) {
+            return !removed[edge[0]] && !removed[edge[1]];
+        }
+
+        @Override
+        public int[] getVertices() {
+            int count = 0;
+            int[] vertices = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                if (!removed[v]) {
+                    vertices[count++] = v;
+                }
+            }
+            return Arrays.copyOf(vertices, count);
+        }
+
+        @Override
+        public int[] getSuccessors(int vertex) {
+            if (removed[vertex]) {
+                return new int[0];
+            }
+            List<Integer> successors = new ArrayList<>();
+            for (int[] edge : edges) {
+                if (edge[0] == vertex && live(edge)) {
+                    successors.add(edge[1]);
+                }
+            }
+            return successors.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public int inDegree(int vertex) {
+            return removed[vertex] ? -1 : countEdges(1, vertex);
+        }
+
+        @Override
+        public int outDegree(int vertex) {
+            return removed[vertex] ? -1 : countEdges(0, vertex);
+        }
+
+        private int countEdges(int end, int vertex) {
+            int count = 0;
+            for (int[] edge : edges) {
+                if (edge[end] == vertex && live(edge)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void removeVertex(int vertex) {
+            removed[vertex] = true;
+        }
+
+        /** Same preconditions as CsrGraph.bypassVertex. */
+        boolean canBypass(int vertex) {
+            return !removed[vertex] && inDegree(vertex) == 1 && outDegree(vertex) == 1 && !hasEdge(vertex, vertex);
+        }
+
+        void bypass(int vertex) {
+            int predecessor = -1;
+            int successor = -1;
+            for (int[] edge : edges) {
+                if (live(edge) && edge[1] == vertex) {
+                    predecessor = edge[0];
+                }
+                if (live(edge) && edge[0] == vertex) {
+                    successor = edge[1];
+                }
+            }
+            edges.add(new int[] { predecessor, successor });
+            removed[vertex] = true;
+            bypassed[vertex] = true;
+        }
+
+        boolean hasEdge(int from, int to) {
+            for (int[] edge : edges) {
+                if (edge[0] == from && edge[1] == to && live(edge)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Kahn's algorithm: acyclic iff every live vertex can be removed as a source. */
+        boolean isAcyclicByKahn() {
+            int[] in = new int[vertexCount];
+            int live = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                if (!removed[v]) {
+                    in[v] = inDegree(v);
+                    live++;
+                }
+            }
+            int[] queue = new int[vertexCount];
+            int head = 0;
+            int tail = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                if (!removed[v] && in[v] == 0) {
+                    queue[tail++] = v;
+                }
+            }
+            while (head < tail) {
+                int v = queue[head++];
+                for (int w : getSuccessors(v)) {
+                    if (--in[w] == 0) {
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            return tail == live;
+        }
+
+        /** Whether a path of at least one live edge leads from u to v, using only vertices in scope (null: all). */
+        boolean reaches(int u, int v, boolean[] scope) {
+            boolean[] seen = new boolean[vertexCount];
+            int[] stack = new int[2 * edges.size() + 1]; // u itself may be expanded once more
+            int size = 0;
+            for (int w : getSuccessors(u)) {
+                stack[size++] = w;
+            }
+            while (size > 0) {
+                int w = stack[--size];
+                if ((scope != null && !scope[w]) || seen[w]) {
+                    continue;
+                }
+                if (w == v) {
+                    return true;
+                }
+                seen[w] = true;
+                for (int x : getSuccessors(w)) {
+                    stack[size++] = x;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -11,4 +11,31 @@ public interface Heuristic {
      * @return A score (higher means more likely to be removed).
      */
     double eval(Graph g, int vertex);
-}
\ No newline at end of file
+
+    /**
+     * Declares whether the score depends only on the vertex's own in- and out-degree.
+     * Such scores only change for the neighbors of a removed vertex, which lets
+     * solvers update them incrementally instead of re-evaluating every vertex.
+     */
+    default boolean isDegreeBased() {
+        return false;
+    }
+
+    /**
+     * Marks a heuristic as degree-based (see {@link #isDegreeBased()}).
+     * Needed for lambdas and method references, e.g. {@code Heuristic.degreeBased(solver::scoreByDegreeSum)}.
+     */
+    static Heuristic degreeBased(Heuristic h) {
+        return new Heuristic() {
+            @Override
+            public double eval(Graph g, int vertex) {
+                return h.eval(g, vertex);
+            }
+
+            @Override
+            public boolean isDegreeBased() {
+                return true;
+            }
+        };
+    }
+}
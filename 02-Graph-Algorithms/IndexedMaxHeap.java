@@ -0,0 +1,143 @@
+import java.util.Arrays;
+
+/**
+ * Binary max-heap over integer IDs with mutable priorities.
+ * Keys, heap slots and heap positions are stored in primitive arrays indexed by ID,
+ * so neither inserts nor priority updates box or allocate.
+ * Ties are broken by the smaller ID to keep the order deterministic.
+ */
+public class IndexedMaxHeap {
+
+    private final double[] keys;
+    private final int[] heap;      // heap slot -> ID
+    private final int[] position;  // ID -> heap slot, -1 if absent
+    private int size;
+
+    /**
+     * Creates an empty heap for IDs in [0, capacity).
+     */
+    public IndexedMaxHeap(int capacity) {
+        keys = new double[capacity];
+        heap = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public boolean contains(int id) {
+        return position[id] != -1;
+    }
+
+    /**
+     * Inserts an ID, or updates its key if it is already present.
+     * Time Complexity: O(log n)
+     */
+    public void insert(int id, double key) {
+        if (contains(id)) {
+            update(id, key);
+            return;
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Changes the key of a present ID (in either direction).
+     * Time Complexity: O(log n)
+     */
+    public void update(int id, double key) {
+        double old = keys[id];
+        keys[id] = key;
+        if (key > old) {
+            siftUp(position[id]);
+        } else if (key < old) {
+            siftDown(position[id]);
+        }
+    }
+
+    /**
+     * Returns the ID with the highest key without removing it.
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the ID with the highest key.
+     * Time Complexity: O(log n)
+     */
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    /**
+     * Removes an ID if present.
+     * Time Complexity: O(log n)
+     */
+    public void remove(int id) {
+        int slot = position[id];
+        if (slot == -1) {
+            return;
+        }
+        int last = heap[--size];
+        position[id] = -1;
+        if (slot == size) {
+            return;
+        }
+        heap[slot] = last;
+        position[last] = slot;
+        siftUp(slot);
+        siftDown(position[last]);
+    }
+
+    private boolean higher(int a, int b) {
+        return keys[a] > keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (!higher(id, parent)) {
+                break;
+            }
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && higher(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!higher(heap[child], id)) {
+                break;
+            }
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+}
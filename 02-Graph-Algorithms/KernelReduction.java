@@ -0,0 +1,207 @@
+import java.util.Arrays;
+
+/**
+ * Standard Feedback Vertex Set reduction rules, applied until nothing changes:
+ * 1. In-degree 0 or out-degree 0: the vertex lies on no cycle, so it is removed.
+ * 2. Self-loop: every solution must contain the vertex, so it is taken and removed.
+ * 3. In-degree 1 and out-degree 1 (u -> v -> w): v is replaced by the edge u -> w.
+ *    Needs {@link Graph#bypassVertex(int)}; graphs without it simply skip this rule.
+ * * A worklist holds the vertices whose degrees changed, so each rule application costs O(deg)
+ * and a full reduction runs in amortized linear time. Self-loops are found once up front and
+ * tracked in a flag (a bypass can create one), so re-examining a vertex never rescans its edges. Once the rules are exhausted the
+ * remaining kernel is empty exactly when the graph is acyclic (every DAG has a source).
+ */
+public class KernelReduction {
+
+    private final Graph g;
+    private final PredecessorIndex predecessors;
+    private final boolean[] removed;
+    private final boolean[] selfLoop;
+    private int kernelSize;
+
+    // Worklist (stack) of vertices to re-examine; queued prevents duplicates
+    private final int[] worklist;
+    private final boolean[] queued;
+    private int worklistSize;
+
+    // Optional: scores kept up to date for a degree-based heuristic
+    private Heuristic heuristic;
+    private IndexedMaxHeap scores;
+
+    /**
+     * Prepares the reduction for the current vertices of g; every vertex starts on the worklist.
+     */
+    public KernelReduction(Graph g) {
+        this.g = g;
+        int[] vertices = g.getVertices();
+        if (vertices == null) {
+            vertices = new int[0];
+        }
+        this.predecessors = new PredecessorIndex(g, vertices);
+
+        int idLimit = predecessors.idLimit();
+        this.removed = new boolean[idLimit];
+        this.selfLoop = new boolean[idLimit];
+        this.worklist = new int[idLimit];
+        this.queued = new boolean[idLimit];
+        Arrays.fill(removed, true);
+        for (int vertex : vertices) {
+            removed[vertex] = false;
+            selfLoop[vertex] = StronglyConnectedComponents.hasSelfLoop(g, vertex);
+            enqueue(vertex);
+        }
+        this.kernelSize = vertices.length;
+    }
+
+    /**
+     * Applies the rules until the worklist is empty.
+     * * @param feedbackVertexSet Output array; forced (self-loop) vertices are appended
+     * @param index Next free position in feedbackVertexSet
+     * @return The new next free position
+     */
+    public int reduce(int[] feedbackVertexSet, int index) {
+        while (worklistSize > 0) {
+            int vertex = worklist[--worklistSize];
+            queued[vertex] = false;
+            if (removed[vertex]) {
+                continue;
+            }
+
+            int inDeg = g.inDegree(vertex);
+            int outDeg = g.outDegree(vertex);
+
+            if (inDeg == 0 || outDeg == 0) {
+                // Rule 1: Sources and sinks cannot lie on a cycle
+                removeVertex(vertex);
+            } else if (selfLoop[vertex]) {
+                // Rule 2: A self-loop can only be broken by removing the vertex itself
+                feedbackVertexSet[index++] = vertex;
+                removeVertex(vertex);
+            } else if (inDeg == 1 && outDeg == 1) {
+                // Rule 3: Bypass u -> vertex -> w by u -> w
+                bypass(vertex);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Removes a vertex (e.g. one picked by a greedy step) and queues its neighbors,
+     * whose degrees just dropped. Call {@link #reduce} afterwards.
+     */
+    public void removeVertex(int vertex) {
+        int[] successors = g.getSuccessors(vertex); // Read before the edges disappear
+        g.removeVertex(vertex);
+        removed[vertex] = true;
+        kernelSize--;
+        if (scores != null) {
+            scores.remove(vertex);
+        }
+
+        if (successors != null) {
+            for (int neighbor : successors) {
+                touch(neighbor);
+            }
+        }
+        for (int p = predecessors.start(vertex); p < predecessors.end(vertex); p++) {
+            touch(predecessors.source(p));
+        }
+        for (int e = predecessors.overflowHead(vertex); e != -1; e = predecessors.overflowNext(e)) {
+            touch(predecessors.overflowSource(e));
+        }
+    }
+
+    private void bypass(int vertex) {
+        int[] successors = g.getSuccessors(vertex);
+        int successor = successors[0];
+        int predecessor = livePredecessor(vertex);
+
+        if (!g.bypassVertex(vertex)) {
+            return; // Not supported by this graph: vertex stays in the kernel
+        }
+        removed[vertex] = true;
+        kernelSize--;
+        if (scores != null) {
+            scores.remove(vertex);
+        }
+        predecessors.addEdge(predecessor, successor);
+        if (predecessor == successor) {
+            selfLoop[predecessor] = true; // u -> v -> u became u -> u
+        }
+
+        // Degrees are unchanged, but u -> w may have become a self-loop or a parallel edge
+        enqueue(predecessor);
+        enqueue(successor);
+    }
+
+    /**
+     * Finds the only live predecessor (the vertex has in-degree 1).
+     * Stale index entries always belong to removed vertices, so the first live one is correct.
+     */
+    private int livePredecessor(int vertex) {
+        for (int p = predecessors.start(vertex); p < predecessors.end(vertex); p++) {
+            if (!removed[predecessors.source(p)]) {
+                return predecessors.source(p);
+            }
+        }
+        for (int e = predecessors.overflowHead(vertex); e != -1; e = predecessors.overflowNext(e)) {
+            if (!removed[predecessors.overflowSource(e)]) {
+                return predecessors.overflowSource(e);
+            }
+        }
+        return -1;
+    }
+
+    /** A neighbor's degree changed: re-examine it and refresh its score. */
+    private void touch(int vertex) {
+        if (removed[vertex]) {
+            return;
+        }
+        enqueue(vertex);
+        if (scores != null && scores.contains(vertex)) {
+            scores.update(vertex, heuristic.eval(g, vertex));
+        }
+    }
+
+    private void enqueue(int vertex) {
+        if (!queued[vertex]) {
+            queued[vertex] = true;
+            worklist[worklistSize++] = vertex;
+        }
+    }
+
+    /**
+     * Keeps the given heap in sync with the kernel: removed vertices leave the heap and
+     * neighbors of removed vertices are re-scored. Only valid for degree-based heuristics.
+     */
+    public void trackScores(Heuristic h, IndexedMaxHeap heap) {
+        this.heuristic = h;
+        this.scores = heap;
+    }
+
+    /** One past the largest vertex ID. */
+    public int idLimit() { return removed.length; }
+
+    public boolean isRemoved(int vertex) {
+        return vertex >= removed.length || removed[vertex];
+    }
+
+    /** Number of vertices left in the kernel. */
+    public int size() { return kernelSize; }
+
+    public boolean isEmpty() { return kernelSize == 0; }
+
+    /**
+     * Returns the vertices left in the kernel (a fresh array).
+     */
+    public int[] vertices() {
+        int[] result = new int[kernelSize];
+        int count = 0;
+        for (int vertex = 0; vertex < removed.length; vertex++) {
+            if (!removed[vertex]) {
+                result[count++] = vertex;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+/**
+ * Reverse adjacency (predecessor lists) in CSR form, built once from getSuccessors,
+ * because the Graph interface only exposes outgoing edges.
+ * Entries are not updated on removal; callers skip vertices that are gone.
+ * Edges created later (e.g. by bypassing a vertex) are kept in a small linked overflow list per vertex.
+ */
+final class PredecessorIndex {
+
+    private final int[] offsets;
+    private final int[] sources;
+
+    // Overflow edges: head per vertex, then (source, next) per entry; -1 terminates
+    private final int[] overflowHead;
+    private int[] overflowSource = new int[16];
+    private int[] overflowNext = new int[16];
+    private int overflowCount;
+
+    PredecessorIndex(Graph g, int[] vertices) {
+        int maxID = -1;
+        for (int vertex : vertices) {
+            maxID = Math.max(maxID, vertex);
+        }
+
+        int[][] successors = new int[maxID + 1][];
+        offsets = new int[maxID + 2];
+        for (int vertex : vertices) {
+            successors[vertex] = g.getSuccessors(vertex);
+            if (successors[vertex] != null) {
+                for (int neighbor : successors[vertex]) {
+                    offsets[neighbor + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i <= maxID; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        sources = new int[offsets[maxID + 1]];
+        int[] fill = new int[maxID + 1];
+        for (int vertex : vertices) {
+            if (successors[vertex] != null) {
+                for (int neighbor : successors[vertex]) {
+                    sources[offsets[neighbor] + fill[neighbor]++] = vertex;
+                }
+            }
+        }
+
+        overflowHead = new int[maxID + 1];
+        Arrays.fill(overflowHead, -1);
+    }
+
+    /** One past the largest vertex ID. */
+    int idLimit() { return offsets.length - 1; }
+
+    /** CSR slice of the predecessors known at construction time. */
+    int start(int vertex) { return offsets[vertex]; }
+    int end(int vertex) { return offsets[vertex + 1]; }
+    int source(int p) { return sources[p]; }
+
+    /**
+     * Records an edge from -> to created after construction.
+     */
+    void addEdge(int from, int to) {
+        if (overflowCount == overflowSource.length) {
+            overflowSource = Arrays.copyOf(overflowSource, overflowCount * 2);
+            overflowNext = Arrays.copyOf(overflowNext, overflowCount * 2);
+        }
+        overflowSource[overflowCount] = from;
+        overflowNext[overflowCount] = overflowHead[to];
+        overflowHead[to] = overflowCount++;
+    }
+
+    /** First overflow entry of vertex, or -1. */
+    int overflowHead(int vertex) { return overflowHead[vertex]; }
+    int overflowNext(int entry) { return overflowNext[entry]; }
+    int overflowSource(int entry) { return overflowSource[entry]; }
+}
@@ -0,0 +1,187 @@
+import java.util.Arrays;
+
+/**
+ * Tarjan's algorithm for Strongly Connected Components (SCCs), restricted to a subset of vertices.
+ * Implemented iteratively with an explicit frame stack, so deep graphs cannot overflow the call stack.
+ * * Scratch arrays are indexed by vertex ID and reused across calls: "visited" and "on stack"
+ * are generation stamps, so starting a new decomposition costs O(1) instead of clearing O(maxID).
+ * Instances are therefore not thread-safe.
+ */
+public class StronglyConnectedComponents {
+
+    private int generation;
+
+    // Per vertex ID (stamp arrays compare against the current generation)
+    private int[] inScope = new int[0];
+    private int[] visited = new int[0];
+    private int[] onStack = new int[0];
+    private int[] index = new int[0];
+    private int[] lowLink = new int[0];
+
+    // DFS frames: vertex, its successor list and the position within it
+    private int[] frameVertex = new int[0];
+    private int[][] frameSuccessors = new int[0][];
+    private int[] framePosition = new int[0];
+
+    // Tarjan stack, then the result: members grouped by component
+    private int[] tarjanStack = new int[0];
+    private int[] members = new int[0];
+    private int[] componentStarts = new int[1];
+    private int componentCount;
+
+    /**
+     * Computes the SCCs of the subgraph induced by vertices[0, count).
+     * Edges leaving this vertex subset are ignored.
+     * Time Complexity: O(V + E) of the induced subgraph
+     * * @param g The graph (only getSuccessors is used)
+     * @param vertices The vertex subset (not modified)
+     * @param count Number of valid entries in vertices
+     * @return The number of components found (in reverse topological order)
+     */
+    public int compute(Graph g, int[] vertices, int count) {
+        prepare(vertices, count);
+
+        int counter = 0;
+        int stackSize = 0;
+        int memberCount = 0;
+        componentCount = 0;
+
+        for (int r = 0; r < count; r++) {
+            int root = vertices[r];
+            if (visited[root] == generation) {
+                continue;
+            }
+
+            int frames = 0;
+            counter = openFrame(g, root, frames++, counter);
+            tarjanStack[stackSize++] = root;
+
+            while (frames > 0) {
+                int top = frames - 1;
+                int vertex = frameVertex[top];
+                int[] successors = frameSuccessors[top];
+
+                if (successors != null && framePosition[top] < successors.length) {
+                    int neighbor = successors[framePosition[top]++];
+                    if (neighbor >= inScope.length || inScope[neighbor] != generation) {
+                        continue; // Edge leaves the subset
+                    }
+                    if (visited[neighbor] != generation) {
+                        // "Recursive call" for unvisited neighbors
+                        counter = openFrame(g, neighbor, frames++, counter);
+                        tarjanStack[stackSize++] = neighbor;
+                    } else if (onStack[neighbor] == generation) {
+                        lowLink[vertex] = Math.min(lowLink[vertex], index[neighbor]);
+                    }
+                    continue;
+                }
+
+                // All successors done: close the frame
+                frameSuccessors[top] = null;
+                frames--;
+
+                if (lowLink[vertex] == index[vertex]) {
+                    // Vertex is the root of a component: pop it off the Tarjan stack
+                    int member;
+                    do {
+                        member = tarjanStack[--stackSize];
+                        onStack[member] = 0;
+                        members[memberCount++] = member;
+                    } while (member != vertex);
+                    componentStarts[++componentCount] = memberCount;
+                }
+
+                if (frames > 0) {
+                    int parent = frameVertex[frames - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+                }
+            }
+        }
+        return componentCount;
+    }
+
+    /**
+     * Returns the vertices of component c (a fresh array).
+     */
+    public int[] component(int c) {
+        int start = componentStarts[c];
+        int[] result = new int[componentStarts[c + 1] - start];
+        System.arraycopy(members, start, result, 0, result.length);
+        return result;
+    }
+
+    public int componentSize(int c) {
+        return componentStarts[c + 1] - componentStarts[c];
+    }
+
+    /**
+     * Returns the first vertex of component c (the only one for singletons).
+     */
+    public int firstMember(int c) {
+        return members[componentStarts[c]];
+    }
+
+    /**
+     * Checks whether a vertex has an edge to itself (a cycle of length 1).
+     */
+    public static boolean hasSelfLoop(Graph g, int vertex) {
+        int[] successors = g.getSuccessors(vertex);
+        if (successors != null) {
+            for (int neighbor : successors) {
+                if (neighbor == vertex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int openFrame(Graph g, int vertex, int frame, int counter) {
+        visited[vertex] = generation;
+        onStack[vertex] = generation;
+        index[vertex] = counter;
+        lowLink[vertex] = counter;
+
+        frameVertex[frame] = vertex;
+        frameSuccessors[frame] = g.getSuccessors(vertex);
+        framePosition[frame] = 0;
+        return counter + 1;
+    }
+
+    /**
+     * Starts a new generation and grows the scratch arrays if needed.
+     */
+    private void prepare(int[] vertices, int count) {
+        int maxID = -1;
+        for (int i = 0; i < count; i++) {
+            maxID = Math.max(maxID, vertices[i]);
+        }
+        if (maxID >= inScope.length) {
+            int size = Math.max(maxID + 1, inScope.length * 2);
+            inScope = Arrays.copyOf(inScope, size);
+            visited = Arrays.copyOf(visited, size);
+            onStack = Arrays.copyOf(onStack, size);
+            index = new int[size];
+            lowLink = new int[size];
+        }
+        if (count > members.length) {
+            frameVertex = new int[count];
+            frameSuccessors = new int[count][];
+            framePosition = new int[count];
+            tarjanStack = new int[count];
+            members = new int[count];
+            componentStarts = new int[count + 1];
+        }
+
+        if (++generation == 0) {
+            // Stamp overflow after 2^32 calls: reset so stale stamps cannot match
+            Arrays.fill(inScope, 0);
+            Arrays.fill(visited, 0);
+            Arrays.fill(onStack, 0);
+            generation = 1;
+        }
+        for (int i = 0; i < count; i++) {
+            inScope[vertices[i]] = generation;
+        }
+    }
+}
@@ -1,5 +1,8 @@
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * efficient algorithms to reconstruct Binary Trees from traversal arrays.
@@ -7,6 +10,13 @@ import java.util.Map;
  * for root indices in the InOrder array.
  * * The resulting tree is stored in an implicit array representation
  * (index i -> left child at 2*i + 1, right child at 2*i + 2).
+ * * The iterative variants need neither the map nor recursion: they walk both traversals once
+ * with an explicit int stack, which suits very large or very deep trees.
+ * * The heap layout needs an array of size 2^height, so skewed trees do not fit.
+ * The linked variants write parallel arrays (value, left, right) of exactly n entries instead:
+ * node IDs are traversal positions and -1 marks a missing child.
+ * {@link #toHeapLayout} converts to the heap layout when the tree is shallow enough.
+ * All variants assume distinct node values.
  */
 public class TreeReconstruction {
 
@@ -113,4 +123,507 @@ public class TreeReconstruction {
                 postStart + leftSubtreeSize, postEnd - 1,
                 2 * treeIndex + 2, inMap);
     }
-}
\ No newline at end of file
+
+    /**
+     * Iterative version of {@link #buildFromPreOrder}: single pass over both traversals,
+     * no value-to-index map, no recursion.
+     * The stack holds the current path of nodes whose right subtree has not started yet;
+     * the next PreOrder value is the left child of the top unless the top is the next InOrder value,
+     * in which case finished nodes are popped and the value is the right child of the last one.
+     * Nodes whose heap index lies outside the output array are skipped, as in the recursive version.
+     * Time Complexity: O(n), Space: O(n) for the stack
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param preOrderTraversal Array containing the PreOrder sequence (Root, Left, Right)
+     * @param reconstructedTree The output array where the tree will be stored (Heap-like structure)
+     */
+    public void buildFromPreOrderIterative(int[] inOrderTraversal, int[] preOrderTraversal, int[] reconstructedTree) {
+        int n = preOrderTraversal.length;
+        int rootIndex = reconstructedTree.length > 0 ? 0 : -1;
+        heapFromPreOrder(inOrderTraversal, 0, preOrderTraversal, 0, n, reconstructedTree, rootIndex, new int[2 * n]);
+    }
+
+    /**
+     * Iterative version of {@link #buildFromPostOrder}.
+     * Mirror image of {@link #buildFromPreOrderIterative}: reading PostOrder backwards yields
+     * (Root, Right, Left), so both traversals are walked from the end and left/right swap roles.
+     * Time Complexity: O(n), Space: O(n) for the stack
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param postOrderTraversal Array containing the PostOrder sequence (Left, Right, Root)
+     * @param reconstructedTree The output array where the tree will be stored
+     */
+    public void buildFromPostOrderIterative(int[] inOrderTraversal, int[] postOrderTraversal, int[] reconstructedTree) {
+        int n = postOrderTraversal.length;
+        int rootIndex = reconstructedTree.length > 0 ? 0 : -1;
+        heapFromPostOrder(inOrderTraversal, 0, postOrderTraversal, 0, n, reconstructedTree, rootIndex, new int[2 * n]);
+    }
+
+    /**
+     * Core of the iterative heap-layout PreOrder reconstruction for the subtree given by
+     * inOrder[inStart, inStart + n) and preOrder[preStart, preStart + n), rooted at heap index rootIndex.
+     * * @param stack Scratch space of at least 2 * n entries
+     */
+    static void heapFromPreOrder(int[] inOrder, int inStart, int[] preOrder, int preStart, int n,
+                                 int[] tree, int rootIndex, int[] stack) {
+        if (n == 0) {
+            return;
+        }
+        // Frames of two ints: PreOrder position of the node, its heap index (-1 = outside the array)
+        int top = 0;
+        int in = inStart;
+        int inEnd = inStart + n;
+
+        store(tree, rootIndex, preOrder[preStart]);
+        stack[top++] = preStart;
+        stack[top++] = rootIndex;
+
+        for (int pre = preStart + 1; pre < preStart + n; pre++) {
+            int treeIndex;
+            if (preOrder[stack[top - 2]] != inOrder[in]) {
+                // Top still has an unfinished left side
+                treeIndex = childIndex(stack[top - 1], 1, tree.length);
+            } else {
+                // Pop nodes whose InOrder position is reached; the value hangs right of the last one
+                int parentIndex;
+                do {
+                    parentIndex = stack[top - 1];
+                    top -= 2;
+                    in++;
+                } while (top > 0 && in < inEnd && preOrder[stack[top - 2]] == inOrder[in]);
+                treeIndex = childIndex(parentIndex, 2, tree.length);
+            }
+            store(tree, treeIndex, preOrder[pre]);
+            stack[top++] = pre;
+            stack[top++] = treeIndex;
+        }
+    }
+
+    /**
+     * Core of the iterative heap-layout PostOrder reconstruction (see {@link #heapFromPreOrder}).
+     * * @param stack Scratch space of at least 2 * n entries
+     */
+    static void heapFromPostOrder(int[] inOrder, int inStart, int[] postOrder, int postStart, int n,
+                                  int[] tree, int rootIndex, int[] stack) {
+        if (n == 0) {
+            return;
+        }
+        int top = 0;
+        int in = inStart + n - 1;
+        int rootPost = postStart + n - 1;
+
+        store(tree, rootIndex, postOrder[rootPost]);
+        stack[top++] = rootPost;
+        stack[top++] = rootIndex;
+
+        for (int post = rootPost - 1; post >= postStart; post--) {
+            int treeIndex;
+            if (postOrder[stack[top - 2]] != inOrder[in]) {
+                treeIndex = childIndex(stack[top - 1], 2, tree.length);
+            } else {
+                int parentIndex;
+                do {
+                    parentIndex = stack[top - 1];
+                    top -= 2;
+                    in--;
+                } while (top > 0 && in >= inStart && postOrder[stack[top - 2]] == inOrder[in]);
+                treeIndex = childIndex(parentIndex, 1, tree.length);
+            }
+            store(tree, treeIndex, postOrder[post]);
+            stack[top++] = post;
+            stack[top++] = treeIndex;
+        }
+    }
+
+    // --- Parallel reconstruction ---
+
+    /**
+     * Parallel version of {@link #buildFromPreOrder} on the common pool.
+     */
+    public void buildFromPreOrderParallel(int[] inOrderTraversal, int[] preOrderTraversal, int[] reconstructedTree) {
+        buildFromPreOrderParallel(inOrderTraversal, preOrderTraversal, reconstructedTree, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel reconstruction: once the root's InOrder position is known, the left and right
+     * subtrees are independent and write disjoint heap indices, so they become fork-join tasks.
+     * All workers share one read-only primitive value -> InOrder index table (no boxing).
+     * Subtrees below {@link #PARALLEL_THRESHOLD} nodes use the iterative single pass.
+     * Time Complexity: O(n) work, about O(height) span for balanced trees
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param preOrderTraversal Array containing the PreOrder sequence (Root, Left, Right)
+     * @param reconstructedTree The output array where the tree will be stored (Heap-like structure)
+     * @param pool The pool to run on
+     */
+    public void buildFromPreOrderParallel(int[] inOrderTraversal, int[] preOrderTraversal, int[] reconstructedTree,
+                                          ForkJoinPool pool) {
+        int n = preOrderTraversal.length;
+        if (n == 0 || reconstructedTree.length == 0) {
+            return;
+        }
+        InOrderIndex index = new InOrderIndex(inOrderTraversal);
+        pool.invoke(new SubtreeTask(inOrderTraversal, preOrderTraversal, true, reconstructedTree, index,
+                0, 0, n, 0));
+    }
+
+    /**
+     * Parallel version of {@link #buildFromPostOrder} on the common pool.
+     */
+    public void buildFromPostOrderParallel(int[] inOrderTraversal, int[] postOrderTraversal, int[] reconstructedTree) {
+        buildFromPostOrderParallel(inOrderTraversal, postOrderTraversal, reconstructedTree, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel version of {@link #buildFromPostOrder} (see {@link #buildFromPreOrderParallel}).
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param postOrderTraversal Array containing the PostOrder sequence (Left, Right, Root)
+     * @param reconstructedTree The output array where the tree will be stored
+     * @param pool The pool to run on
+     */
+    public void buildFromPostOrderParallel(int[] inOrderTraversal, int[] postOrderTraversal, int[] reconstructedTree,
+                                           ForkJoinPool pool) {
+        int n = postOrderTraversal.length;
+        if (n == 0 || reconstructedTree.length == 0) {
+            return;
+        }
+        InOrderIndex index = new InOrderIndex(inOrderTraversal);
+        pool.invoke(new SubtreeTask(inOrderTraversal, postOrderTraversal, false, reconstructedTree, index,
+                0, 0, n, 0));
+    }
+
+    /** Subtrees smaller than this are reconstructed sequentially. */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Reconstructs one subtree. Large subtrees are peeled root by root: the smaller side is forked
+     * (or solved inline when small) and the loop continues with the larger side, so skewed
+     * trees do not produce long chains of nested tasks.
+     */
+    private static final class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] inOrder, order, tree;
+        private final boolean preOrder; // order is PreOrder (root first) or PostOrder (root last)
+        private final InOrderIndex index;
+        private int inStart, orderStart, size, treeIndex;
+        private SubtreeTask next; // Forked siblings, joined at the end
+
+        SubtreeTask(int[] inOrder, int[] order, boolean preOrder, int[] tree, InOrderIndex index,
+                    int inStart, int orderStart, int size, int treeIndex) {
+            this.inOrder = inOrder;
+            this.order = order;
+            this.preOrder = preOrder;
+            this.tree = tree;
+            this.index = index;
+            this.inStart = inStart;
+            this.orderStart = orderStart;
+            this.size = size;
+            this.treeIndex = treeIndex;
+        }
+
+        @Override
+        protected void compute() {
+            SubtreeTask forked = null;
+            while (size > PARALLEL_THRESHOLD && treeIndex >= 0) {
+                int rootValue = preOrder ? order[orderStart] : order[orderStart + size - 1];
+                tree[treeIndex] = rootValue;
+                int rootIndexInInOrder = index.get(rootValue);
+                if (rootIndexInInOrder < inStart || rootIndexInInOrder >= inStart + size) {
+                    throw new IllegalArgumentException("Value " + rootValue + " not found in the InOrder range");
+                }
+                int leftSize = rootIndexInInOrder - inStart;
+                int rightSize = size - leftSize - 1;
+                // The subtree's order range without its root
+                int childStart = preOrder ? orderStart + 1 : orderStart;
+                int leftIndex = childIndex(treeIndex, 1, tree.length);
+                int rightIndex = childIndex(treeIndex, 2, tree.length);
+
+                SubtreeTask side;
+                if (leftSize <= rightSize) {
+                    side = subtask(inStart, childStart, leftSize, leftIndex);
+                    inStart = rootIndexInInOrder + 1;
+                    orderStart = childStart + leftSize;
+                    size = rightSize;
+                    treeIndex = rightIndex;
+                } else {
+                    side = subtask(rootIndexInInOrder + 1, childStart + leftSize, rightSize, rightIndex);
+                    orderStart = childStart;
+                    size = leftSize;
+                    treeIndex = leftIndex;
+                }
+                if (side.size > PARALLEL_THRESHOLD) {
+                    side.next = forked;
+                    forked = side;
+                    side.fork();
+                } else {
+                    side.solveSequentially();
+                }
+            }
+            solveSequentially();
+            for (; forked != null; forked = forked.next) {
+                forked.join();
+            }
+        }
+
+        private SubtreeTask subtask(int inStart, int orderStart, int size, int treeIndex) {
+            return new SubtreeTask(inOrder, order, preOrder, tree, index, inStart, orderStart, size, treeIndex);
+        }
+
+        private void solveSequentially() {
+            if (size == 0 || treeIndex < 0) {
+                return; // Empty, or the whole subtree lies outside the array
+            }
+            int[] stack = new int[2 * size];
+            if (preOrder) {
+                heapFromPreOrder(inOrder, inStart, order, orderStart, size, tree, treeIndex, stack);
+            } else {
+                heapFromPostOrder(inOrder, inStart, order, orderStart, size, tree, treeIndex, stack);
+            }
+        }
+    }
+
+    /**
+     * Read-only map from node value to InOrder index, built once and shared by all workers.
+     * Dense value ranges (at most 4n wide, e.g. node IDs) are addressed directly, costing one
+     * array access per lookup; other values go through open addressing (linear probing,
+     * power-of-two capacity, load factor at most 0.5).
+     */
+    private static final class InOrderIndex {
+        private final int[] keys;      // null in direct mode
+        private final int[] positions; // -1 = empty slot / absent value
+        private final int mask;
+        private final int min;
+
+        InOrderIndex(int[] inOrder) {
+            int n = inOrder.length;
+            int minValue = Integer.MAX_VALUE;
+            int maxValue = Integer.MIN_VALUE;
+            for (int value : inOrder) {
+                minValue = Math.min(minValue, value);
+                maxValue = Math.max(maxValue, value);
+            }
+            long range = (long) maxValue - minValue + 1;
+
+            if (range <= 4L * n) {
+                keys = null;
+                positions = new int[(int) range];
+                mask = 0;
+                min = minValue;
+                Arrays.fill(positions, -1);
+                for (int i = 0; i < n; i++) {
+                    positions[inOrder[i] - min] = i;
+                }
+                return;
+            }
+
+            int capacity = Integer.highestOneBit(n * 2 - 1) << 1;
+            keys = new int[capacity];
+            positions = new int[capacity];
+            mask = capacity - 1;
+            min = 0;
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < n; i++) {
+                int slot = mix(inOrder[i]) & mask;
+                while (positions[slot] != -1) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = inOrder[i];
+                positions[slot] = i;
+            }
+        }
+
+        /** Returns the InOrder index of value, or -1 if it does not occur. */
+        int get(int value) {
+            if (keys == null) {
+                long offset = (long) value - min;
+                return offset >= 0 && offset < positions.length ? positions[(int) offset] : -1;
+            }
+            int slot = mix(value) & mask;
+            while (positions[slot] != -1) {
+                if (keys[slot] == value) {
+                    return positions[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** Murmur3 finalizer: spreads sequential values over the table. */
+        private static int mix(int key) {
+            int h = key;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+
+    /**
+     * Reconstructs a tree into linked form. Node i is the node at PreOrder position i,
+     * so value[i] = preOrder[i] and the root is node 0.
+     * Time Complexity: O(n), Space: O(n) for the stack
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param preOrderTraversal Array containing the PreOrder sequence (Root, Left, Right)
+     * @param value Output: value of each node (length >= n)
+     * @param left Output: left child of each node, -1 if none (length >= n)
+     * @param right Output: right child of each node, -1 if none (length >= n)
+     * @return The root node ID, or -1 for an empty tree
+     */
+    public int buildLinkedFromPreOrder(int[] inOrderTraversal, int[] preOrderTraversal,
+                                       int[] value, int[] left, int[] right) {
+        int n = preOrderTraversal.length;
+        System.arraycopy(preOrderTraversal, 0, value, 0, n);
+        return linkFromPreOrder(inOrderTraversal, preOrderTraversal, 0, n, left, right, new int[n]);
+    }
+
+    /**
+     * Reconstructs a tree into linked form. Node i is the node at PostOrder position i,
+     * so value[i] = postOrder[i] and the root is node n - 1.
+     * Time Complexity: O(n), Space: O(n) for the stack
+     * * @param inOrderTraversal Array containing the InOrder sequence (Left, Root, Right)
+     * @param postOrderTraversal Array containing the PostOrder sequence (Left, Right, Root)
+     * @param value Output: value of each node (length >= n)
+     * @param left Output: left child of each node, -1 if none (length >= n)
+     * @param right Output: right child of each node, -1 if none (length >= n)
+     * @return The root node ID, or -1 for an empty tree
+     */
+    public int buildLinkedFromPostOrder(int[] inOrderTraversal, int[] postOrderTraversal,
+                                        int[] value, int[] left, int[] right) {
+        int n = postOrderTraversal.length;
+        System.arraycopy(postOrderTraversal, 0, value, 0, n);
+        return linkFromPostOrder(inOrderTraversal, postOrderTraversal, 0, n, left, right, new int[n]);
+    }
+
+    /**
+     * Core of the linked PreOrder reconstruction for the traversals at [offset, offset + n).
+     * Node IDs are absolute positions (offset + PreOrder index), so many trees can share
+     * packed input and output arrays.
+     * * @param stack Scratch space of at least n entries
+     * @return The root node ID (offset), or -1 if n == 0
+     */
+    static int linkFromPreOrder(int[] inOrder, int[] preOrder, int offset, int n,
+                                int[] left, int[] right, int[] stack) {
+        if (n == 0) {
+            return -1;
+        }
+        int end = offset + n;
+        int top = 0;
+        int in = offset;
+        left[offset] = -1;
+        right[offset] = -1;
+        stack[top++] = offset;
+
+        for (int node = offset + 1; node < end; node++) {
+            left[node] = -1;
+            right[node] = -1;
+            if (preOrder[stack[top - 1]] != inOrder[in]) {
+                left[stack[top - 1]] = node;
+            } else {
+                int parent;
+                do {
+                    parent = stack[--top];
+                    in++;
+                } while (top > 0 && in < end && preOrder[stack[top - 1]] == inOrder[in]);
+                right[parent] = node;
+            }
+            stack[top++] = node;
+        }
+        return offset;
+    }
+
+    /**
+     * Core of the linked PostOrder reconstruction for the traversals at [offset, offset + n).
+     * Node IDs are absolute positions (offset + PostOrder index).
+     * * @param stack Scratch space of at least n entries
+     * @return The root node ID (offset + n - 1), or -1 if n == 0
+     */
+    static int linkFromPostOrder(int[] inOrder, int[] postOrder, int offset, int n,
+                                 int[] left, int[] right, int[] stack) {
+        if (n == 0) {
+            return -1;
+        }
+        int root = offset + n - 1;
+        int top = 0;
+        int in = root;
+        left[root] = -1;
+        right[root] = -1;
+        stack[top++] = root;
+
+        for (int node = root - 1; node >= offset; node--) {
+            left[node] = -1;
+            right[node] = -1;
+            if (postOrder[stack[top - 1]] != inOrder[in]) {
+                right[stack[top - 1]] = node;
+            } else {
+                int parent;
+                do {
+                    parent = stack[--top];
+                    in--;
+                } while (top > 0 && in >= offset && postOrder[stack[top - 1]] == inOrder[in]);
+                left[parent] = node;
+            }
+            stack[top++] = node;
+        }
+        return root;
+    }
+
+    /**
+     * Converts a linked tree to the implicit heap layout.
+     * Nothing is written unless every node fits, so a skewed tree leaves the output untouched.
+     * Time Complexity: O(n)
+     * * @param root Root node ID, -1 for an empty tree
+     * @param n Number of nodes (size of the stack needed for the walk)
+     * @param tree The output array (Heap-like structure)
+     * @return true if the tree was written, false if some node's heap index is >= tree.length
+     */
+    public static boolean toHeapLayout(int[] value, int[] left, int[] right, int root, int n, int[] tree) {
+        if (root < 0) {
+            return true;
+        }
+        // Frames of two ints: node, heap index (-1 = outside). Every node is pushed once, so n frames suffice.
+        int[] stack = new int[2 * n];
+        for (int pass = 0; pass < 2; pass++) {
+            boolean write = pass == 1; // Pass 0 only checks that everything fits
+            int top = 0;
+            stack[top++] = root;
+            stack[top++] = tree.length > 0 ? 0 : -1;
+            while (top > 0) {
+                int treeIndex = stack[--top];
+                int node = stack[--top];
+                if (treeIndex < 0) {
+                    return false; // Outside the array
+                }
+                if (write) {
+                    tree[treeIndex] = value[node];
+                }
+                if (right[node] != -1) {
+                    stack[top++] = right[node];
+                    stack[top++] = childIndex(treeIndex, 2, tree.length);
+                }
+                if (left[node] != -1) {
+                    stack[top++] = left[node];
+                    stack[top++] = childIndex(treeIndex, 1, tree.length);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Heap index 2*i + offset, or -1 if it lies outside the array (also once i itself is outside).
+     * Computed in long, so deep skewed trees cannot overflow into a valid index.
+     */
+    private static int childIndex(int treeIndex, int offset, int length) {
+        if (treeIndex < 0) {
+            return -1;
+        }
+        long child = 2L * treeIndex + offset;
+        return child < length ? (int) child : -1;
+    }
+
+    private static void store(int[] tree, int treeIndex, int value) {
+        if (treeIndex >= 0) {
+            tree[treeIndex] = value;
+        }
+    }
+}
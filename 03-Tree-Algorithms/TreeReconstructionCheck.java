@@ -0,0 +1,377 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Randomized self-check for TreeReconstruction and TreeReconstructor.
+ * Random trees (balanced, skewed and chain-like, dense and sparse values) are turned into traversals;
+ * every variant must rebuild the original tree.
+ * Usage: java TreeReconstructionCheck [seed]
+ * Prints one line per check and throws IllegalStateException on the first mismatch.
+ */
+public class TreeReconstructionCheck {
+
+    /** Filler for heap slots that receive no node. */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private static final TreeReconstruction TR = new TreeReconstruction();
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        Random random = new Random(seed);
+        System.out.println("Seed " + seed);
+
+        checkHeapLayout(random);
+        checkParallel(random);
+        checkLinked(random);
+        checkReconstructor(random);
+        checkBatch(random);
+    }
+
+    /**
+     * Iterative heap-layout variants against the HashMap-based baseline and the generated tree.
+     * Array sizes range from too small to large enough, so dropped nodes are covered too.
+     */
+    private static void checkHeapLayout(Random random) {
+        for (int round = 0; round < 3000; round++) {
+            RandomTree t = RandomTree.generate(random, random.nextInt(60));
+            int[] expected = t.heapLayout(random.nextInt(4 * t.n + 2));
+
+            if (t.depth <= 29) { // The baseline's int heap index overflows for deeper trees
+                check(Arrays.equals(build(expected.length, tree -> TR.buildFromPreOrder(t.inOrder, t.preOrder, tree)), expected),
+                        "baseline buildFromPreOrder", round);
+                check(Arrays.equals(build(expected.length, tree -> TR.buildFromPostOrder(t.inOrder, t.postOrder, tree)), expected),
+                        "baseline buildFromPostOrder", round);
+            }
+            check(Arrays.equals(build(expected.length, tree -> TR.buildFromPreOrderIterative(t.inOrder, t.preOrder, tree)), expected),
+                    "buildFromPreOrderIterative", round);
+            check(Arrays.equals(build(expected.length, tree -> TR.buildFromPostOrderIterative(t.inOrder, t.postOrder, tree)), expected),
+                    "buildFromPostOrderIterative", round);
+        }
+        System.out.println("Heap layout: OK");
+    }
+
+    /**
+     * Parallel variants on trees above the 8192-node sequential threshold.
+     */
+    private static void checkParallel(Random random) {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 40; round++) {
+                int n = round % 4 == 0 ? random.nextInt(100) : 8_000 + random.nextInt(40_000);
+                RandomTree t = RandomTree.generate(random, n);
+                int[] expected = t.heapLayout(round % 2 == 0 ? 4 * n : 1 << 22);
+
+                check(Arrays.equals(build(expected.length, tree -> TR.buildFromPreOrderParallel(t.inOrder, t.preOrder, tree, pool)), expected),
+                        "buildFromPreOrderParallel", round);
+                check(Arrays.equals(build(expected.length, tree -> TR.buildFromPostOrderParallel(t.inOrder, t.postOrder, tree, pool)), expected),
+                        "buildFromPostOrderParallel", round);
+                check(Arrays.equals(build(expected.length, tree -> TR.buildFromPreOrderParallel(t.inOrder, t.preOrder, tree)), expected),
+                        "buildFromPreOrderParallel (common pool)", round);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Parallel: OK");
+    }
+
+    /**
+     * Linked variants against the generated tree, and toHeapLayout against the heap layout of the same tree.
+     */
+    private static void checkLinked(Random random) {
+        for (int round = 0; round < 3000; round++) {
+            // Occasionally long chains: the linked form must handle any depth
+            RandomTree t = RandomTree.generate(random, round % 100 == 0 ? 100_000 : random.nextInt(60));
+            int n = t.n;
+            int[] value = new int[n];
+            int[] left = new int[n];
+            int[] right = new int[n];
+
+            int root = TR.buildLinkedFromPreOrder(t.inOrder, t.preOrder, value, left, right);
+            check(Arrays.equals(value, t.preOrder), "buildLinkedFromPreOrder values", round);
+            t.checkLinked(root, left, right, t.preIndex, "buildLinkedFromPreOrder", round);
+            checkToHeapLayout(random, t, value, left, right, root, round);
+
+            root = TR.buildLinkedFromPostOrder(t.inOrder, t.postOrder, value, left, right);
+            check(Arrays.equals(value, t.postOrder), "buildLinkedFromPostOrder values", round);
+            t.checkLinked(root, left, right, t.postIndex, "buildLinkedFromPostOrder", round);
+        }
+        System.out.println("Linked: OK");
+    }
+
+    private static void checkToHeapLayout(Random random, RandomTree t, int[] value, int[] left, int[] right,
+                                          int root, int round) {
+        int length = random.nextInt(4 * t.n + 2);
+        int[] expected = t.heapLayout(length);
+        boolean fits = t.n == 0 || t.maxHeapIndex < length;
+        int[] tree = build(length, out -> check(TreeReconstruction.toHeapLayout(value, left, right, root, t.n, out) == fits,
+                "toHeapLayout result", round));
+        if (fits) {
+            check(Arrays.equals(tree, expected), "toHeapLayout output", round);
+        } else {
+            check(Arrays.equals(tree, build(length, out -> { })), "toHeapLayout writes nothing", round);
+        }
+    }
+
+    /**
+     * One TreeReconstructor reused for trees of varying size: heap layouts (arrays from too small
+     * to large enough) and linked results into stale arrays must match the generated tree.
+     */
+    private static void checkReconstructor(Random random) {
+        TreeReconstructor reconstructor = new TreeReconstructor();
+        for (int round = 0; round < 3000; round++) {
+            // Occasionally long chains: the linked form must handle any depth
+            RandomTree t = RandomTree.generate(random, round % 100 == 0 ? 100_000 : random.nextInt(60));
+            int[] expected = t.heapLayout(random.nextInt(4 * Math.min(t.n, 60) + 2));
+            check(Arrays.equals(build(expected.length, tree -> reconstructor.buildHeapFromPreOrder(t.inOrder, t.preOrder, tree)), expected),
+                    "TreeReconstructor.buildHeapFromPreOrder", round);
+            check(Arrays.equals(build(expected.length, tree -> reconstructor.buildHeapFromPostOrder(t.inOrder, t.postOrder, tree)), expected),
+                    "TreeReconstructor.buildHeapFromPostOrder", round);
+
+            int[] left = new int[t.n];
+            int[] right = new int[t.n];
+            Arrays.fill(left, 7); // Stale contents must be overwritten
+            Arrays.fill(right, 7);
+            int root = reconstructor.buildLinkedFromPreOrder(t.inOrder, t.preOrder, left, right);
+            t.checkLinked(root, left, right, t.preIndex, "TreeReconstructor.buildLinkedFromPreOrder", round);
+            root = reconstructor.buildLinkedFromPostOrder(t.inOrder, t.postOrder, left, right);
+            t.checkLinked(root, left, right, t.postIndex, "TreeReconstructor.buildLinkedFromPostOrder", round);
+        }
+        System.out.println("TreeReconstructor: OK");
+    }
+
+    /**
+     * Batch variants on packed buffers (including empty trees) against the generated trees.
+     */
+    private static void checkBatch(Random random) {
+        TreeReconstructor reconstructor = new TreeReconstructor();
+        for (int round = 0; round < 500; round++) {
+            int treeCount = random.nextInt(20);
+            RandomTree[] trees = new RandomTree[treeCount];
+            int[] offsets = new int[treeCount + 1];
+            for (int i = 0; i < treeCount; i++) {
+                trees[i] = RandomTree.generate(random, random.nextInt(4) == 0 ? 0 : random.nextInt(40));
+                offsets[i + 1] = offsets[i] + trees[i].n;
+            }
+            int total = offsets[treeCount];
+            int[] inOrders = new int[total];
+            int[] preOrders = new int[total];
+            int[] postOrders = new int[total];
+            for (int i = 0; i < treeCount; i++) {
+                System.arraycopy(trees[i].inOrder, 0, inOrders, offsets[i], trees[i].n);
+                System.arraycopy(trees[i].preOrder, 0, preOrders, offsets[i], trees[i].n);
+                System.arraycopy(trees[i].postOrder, 0, postOrders, offsets[i], trees[i].n);
+            }
+
+            int[] left = new int[total];
+            int[] right = new int[total];
+            int[] roots = new int[treeCount];
+            for (int order = 0; order < 2; order++) {
+                boolean pre = order == 0;
+                if (pre) {
+                    reconstructor.buildLinkedBatchFromPreOrder(inOrders, preOrders, offsets, treeCount, left, right, roots);
+                } else {
+                    reconstructor.buildLinkedBatchFromPostOrder(inOrders, postOrders, offsets, treeCount, left, right, roots);
+                }
+                for (int i = 0; i < treeCount; i++) {
+                    RandomTree t = trees[i];
+                    int offset = offsets[i];
+                    int[] toId = pre ? t.preIndex : t.postIndex;
+                    check(roots[i] == (t.n == 0 ? -1 : toId[t.root] + offset), "batch root", round);
+                    for (int k = 0; k < t.n; k++) {
+                        int id = offset + toId[k];
+                        check(left[id] == (t.left[k] == -1 ? -1 : offset + toId[t.left[k]])
+                                && right[id] == (t.right[k] == -1 ? -1 : offset + toId[t.right[k]]),
+                                pre ? "buildLinkedBatchFromPreOrder" : "buildLinkedBatchFromPostOrder", round);
+                    }
+                }
+            }
+        }
+        System.out.println("Batch: OK");
+    }
+
+    // --- Helpers ---
+
+    /** Runs a heap-layout builder on a fresh array pre-filled with EMPTY. */
+    private static int[] build(int length, Consumer<int[]> builder) {
+        int[] tree = new int[length];
+        Arrays.fill(tree, EMPTY);
+        builder.accept(tree);
+        return tree;
+    }
+
+    private static void check(boolean condition, String what, int round) {
+        if (!condition) {
+            throw new IllegalStateException(what + " failed (round " + round + ")");
+        }
+    }
+
+    /**
+     * Reference tree. Node k is the node at InOrder position k; its shape is drawn by picking
+     * a random root in each InOrder range, biased towards the ends for skewed trees.
+     */
+    private static final class RandomTree {
+        final int n;
+        final int[] left;   // By InOrder position, -1 if none
+        final int[] right;
+        final int root;
+        final int[] inOrder;
+        final int[] preOrder;
+        final int[] postOrder;
+        final int[] preIndex;  // InOrder position -> PreOrder position
+        final int[] postIndex; // InOrder position -> PostOrder position
+        final long[] heapIndex;
+        final long maxHeapIndex;
+        final int depth;
+
+        private RandomTree(Random random, int n) {
+            this.n = n;
+            left = new int[n];
+            right = new int[n];
+            int skew = random.nextInt(3); // 0 = uniform, 1 = mostly chains, 2 = pure chains
+
+            // Explicit stack of InOrder ranges [lo, hi) with the parent slot to link into
+            int[] stack = new int[3 * n + 3];
+            int top = 0;
+            int rootNode = -1;
+            stack[top++] = 0;
+            stack[top++] = n;
+            stack[top++] = -1; // Parent * 2 + side, -1 for the root
+            while (top > 0) {
+                int link = stack[--top];
+                int hi = stack[--top];
+                int lo = stack[--top];
+                if (lo >= hi) {
+                    continue;
+                }
+                int size = hi - lo;
+                int node;
+                if (skew == 0 || (skew == 1 && random.nextInt(4) == 0)) {
+                    node = lo + random.nextInt(size);
+                } else {
+                    node = random.nextBoolean() ? lo : hi - 1;
+                }
+                left[node] = -1;
+                right[node] = -1;
+                if (link < 0) {
+                    rootNode = node;
+                } else if ((link & 1) == 0) {
+                    left[link >> 1] = node;
+                } else {
+                    right[link >> 1] = node;
+                }
+                stack[top++] = lo;
+                stack[top++] = node;
+                stack[top++] = node * 2;
+                stack[top++] = node + 1;
+                stack[top++] = hi;
+                stack[top++] = node * 2 + 1;
+            }
+            root = rootNode;
+
+            // Distinct values: dense (shuffled 0..n-1 shifted) or sparse random ints
+            int[] values = new int[n];
+            if (random.nextBoolean()) {
+                int base = random.nextInt(1000) - 500;
+                for (int k = 0; k < n; k++) {
+                    values[k] = base + k;
+                }
+                for (int k = n - 1; k > 0; k--) {
+                    int j = random.nextInt(k + 1);
+                    int tmp = values[k];
+                    values[k] = values[j];
+                    values[j] = tmp;
+                }
+            } else {
+                Set<Integer> used = new HashSet<>();
+                for (int k = 0; k < n; k++) {
+                    do {
+                        values[k] = random.nextInt();
+                    } while (values[k] == EMPTY || !used.add(values[k]));
+                }
+            }
+            inOrder = values;
+
+            preOrder = new int[n];
+            postOrder = new int[n];
+            preIndex = new int[n];
+            postIndex = new int[n];
+            heapIndex = new long[n];
+            long maxIndex = -1;
+            int maxDepth = 0;
+            int[] nodeDepth = new int[n];
+
+            // PreOrder by DFS (right pushed first); heap indices and depths along the way
+            int[] dfs = new int[n + 1];
+            int size = 0;
+            int count = 0;
+            if (n > 0) {
+                dfs[size++] = root;
+            }
+            while (size > 0) {
+                int node = dfs[--size];
+                preIndex[node] = count;
+                preOrder[count++] = values[node];
+                maxIndex = Math.max(maxIndex, heapIndex[node]);
+                maxDepth = Math.max(maxDepth, nodeDepth[node]);
+                for (int side = 1; side >= 0; side--) {
+                    int child = side == 0 ? left[node] : right[node];
+                    if (child != -1) {
+                        // Saturate: anything past 2^62 is outside every array anyway
+                        heapIndex[child] = heapIndex[node] >= (1L << 61) ? Long.MAX_VALUE : 2 * heapIndex[node] + 1 + side;
+                        nodeDepth[child] = nodeDepth[node] + 1;
+                        dfs[size++] = child;
+                    }
+                }
+            }
+            maxHeapIndex = maxIndex;
+            depth = maxDepth;
+
+            // PostOrder is the reverse of a (Root, Right, Left) walk
+            count = n;
+            if (n > 0) {
+                dfs[size++] = root;
+            }
+            while (size > 0) {
+                int node = dfs[--size];
+                postIndex[node] = --count;
+                postOrder[count] = values[node];
+                if (left[node] != -1) {
+                    dfs[size++] = left[node];
+                }
+                if (right[node] != -1) {
+                    dfs[size++] = right[node];
+                }
+            }
+        }
+
+        static RandomTree generate(Random random, int n) {
+            return new RandomTree(random, n);
+        }
+
+        /** Heap layout of the tree in an array of the given length (EMPTY where no node lands). */
+        int[] heapLayout(int length) {
+            int[] tree = new int[length];
+            Arrays.fill(tree, EMPTY);
+            for (int k = 0; k < n; k++) {
+                if (heapIndex[k] < length) {
+                    tree[(int) heapIndex[k]] = inOrder[k];
+                }
+            }
+            return tree;
+        }
+
+        /** Compares a linked result whose node IDs are traversal positions (given by toId) with this tree. */
+        void checkLinked(int linkedRoot, int[] linkedLeft, int[] linkedRight, int[] toId, String what, int round) {
+            check(linkedRoot == (n == 0 ? -1 : toId[root]), what + " root", round);
+            for (int k = 0; k < n; k++) {
+                int id = toId[k];
+                check(linkedLeft[id] == (left[k] == -1 ? -1 : toId[left[k]])
+                        && linkedRight[id] == (right[k] == -1 ? -1 : toId[right[k]]), what + " children", round);
+            }
+        }
+    }
+}
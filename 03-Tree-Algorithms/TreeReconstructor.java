@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+/**
+ * Reusable tree reconstruction for workloads with many (small) trees.
+ * Uses the stack-based single pass of {@link TreeReconstruction} and keeps its scratch stack
+ * between calls, so steady-state reconstruction allocates nothing.
+ * * The batch methods take many traversal pairs packed into two flat buffers:
+ * tree t occupies [offsets[t], offsets[t + 1]) in both. Its nodes get global IDs (their position
+ * in the packed traversal), so all trees are written into one shared left/right buffer and
+ * the value of node i is simply the packed traversal entry at i.
+ * * Instances are not thread-safe; use one per thread.
+ */
+public class TreeReconstructor {
+
+    private int[] stack = new int[0];
+
+    /**
+     * Reconstructs a tree into linked form (see {@link TreeReconstruction#buildLinkedFromPreOrder}).
+     * Node i is the node at PreOrder position i, so its value is preOrder[i].
+     * * @return The root node ID, or -1 for an empty tree
+     */
+    public int buildLinkedFromPreOrder(int[] inOrderTraversal, int[] preOrderTraversal, int[] left, int[] right) {
+        int n = preOrderTraversal.length;
+        return TreeReconstruction.linkFromPreOrder(inOrderTraversal, preOrderTraversal, 0, n, left, right, scratch(n));
+    }
+
+    /**
+     * Reconstructs a tree into linked form (see {@link TreeReconstruction#buildLinkedFromPostOrder}).
+     * Node i is the node at PostOrder position i, so its value is postOrder[i].
+     * * @return The root node ID, or -1 for an empty tree
+     */
+    public int buildLinkedFromPostOrder(int[] inOrderTraversal, int[] postOrderTraversal, int[] left, int[] right) {
+        int n = postOrderTraversal.length;
+        return TreeReconstruction.linkFromPostOrder(inOrderTraversal, postOrderTraversal, 0, n, left, right, scratch(n));
+    }
+
+    /**
+     * Reconstructs a tree into the implicit heap layout
+     * (see {@link TreeReconstruction#buildFromPreOrderIterative}).
+     */
+    public void buildHeapFromPreOrder(int[] inOrderTraversal, int[] preOrderTraversal, int[] reconstructedTree) {
+        int n = preOrderTraversal.length;
+        int rootIndex = reconstructedTree.length > 0 ? 0 : -1;
+        TreeReconstruction.heapFromPreOrder(inOrderTraversal, 0, preOrderTraversal, 0, n,
+                reconstructedTree, rootIndex, scratch(2 * n));
+    }
+
+    /**
+     * Reconstructs a tree into the implicit heap layout
+     * (see {@link TreeReconstruction#buildFromPostOrderIterative}).
+     */
+    public void buildHeapFromPostOrder(int[] inOrderTraversal, int[] postOrderTraversal, int[] reconstructedTree) {
+        int n = postOrderTraversal.length;
+        int rootIndex = reconstructedTree.length > 0 ? 0 : -1;
+        TreeReconstruction.heapFromPostOrder(inOrderTraversal, 0, postOrderTraversal, 0, n,
+                reconstructedTree, rootIndex, scratch(2 * n));
+    }
+
+    /**
+     * Reconstructs many trees from packed InOrder/PreOrder buffers.
+     * Time Complexity: O(total nodes), no allocation once the stack fits the largest tree
+     * * @param inOrders Packed InOrder traversals
+     * @param preOrders Packed PreOrder traversals (also the node values)
+     * @param offsets Tree t occupies [offsets[t], offsets[t + 1]); treeCount + 1 entries are read
+     * @param treeCount Number of trees
+     * @param left Output: global left child ID of each node, -1 if none
+     * @param right Output: global right child ID of each node, -1 if none
+     * @param roots Output: global root ID of each tree (offsets[t]), -1 for an empty tree
+     */
+    public void buildLinkedBatchFromPreOrder(int[] inOrders, int[] preOrders, int[] offsets, int treeCount,
+                                             int[] left, int[] right, int[] roots) {
+        for (int t = 0; t < treeCount; t++) {
+            int n = treeSize(offsets, t);
+            roots[t] = TreeReconstruction.linkFromPreOrder(inOrders, preOrders, offsets[t], n, left, right, scratch(n));
+        }
+    }
+
+    /**
+     * Reconstructs many trees from packed InOrder/PostOrder buffers.
+     * Same layout as {@link #buildLinkedBatchFromPreOrder}; the root of tree t is offsets[t + 1] - 1.
+     * * @param inOrders Packed InOrder traversals
+     * @param postOrders Packed PostOrder traversals (also the node values)
+     * @param offsets Tree t occupies [offsets[t], offsets[t + 1]); treeCount + 1 entries are read
+     * @param treeCount Number of trees
+     * @param left Output: global left child ID of each node, -1 if none
+     * @param right Output: global right child ID of each node, -1 if none
+     * @param roots Output: global root ID of each tree, -1 for an empty tree
+     */
+    public void buildLinkedBatchFromPostOrder(int[] inOrders, int[] postOrders, int[] offsets, int treeCount,
+                                              int[] left, int[] right, int[] roots) {
+        for (int t = 0; t < treeCount; t++) {
+            int n = treeSize(offsets, t);
+            roots[t] = TreeReconstruction.linkFromPostOrder(inOrders, postOrders, offsets[t], n, left, right, scratch(n));
+        }
+    }
+
+    private static int treeSize(int[] offsets, int t) {
+        int n = offsets[t + 1] - offsets[t];
+        if (n < 0) {
+            throw new IllegalArgumentException("Offsets must not decrease (tree " + t + ")");
+        }
+        return n;
+    }
+
+    /**
+     * Returns the scratch stack, grown to at least the given size.
+     */
+    private int[] scratch(int size) {
+        if (size > stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(size, stack.length * 2));
+        }
+        return stack;
+    }
+}
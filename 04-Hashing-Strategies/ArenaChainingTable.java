@@ -0,0 +1,305 @@
+import java.util.Arrays;
+
+/**
+ * Separate chaining without per-element objects. Chain entries live in parallel primitive arenas
+ * (int[] keys, int[] next) and buckets hold the index of their first entry, so a chain costs
+ * 8 bytes per key and no object headers or references for the GC to trace.
+ * Removed entries go onto a free list (linked through next) and are reused by later inserts.
+ * * The table doubles its bucket count when a chain grows longer than a limit (or the average
+ * chain length exceeds 1); rehashing only relinks the existing arena entries.
+ * {@link #bulkBuild} sorts keys by bucket first, so each chain is contiguous in the arena.
+ * * The HashTableWithChaining methods address buckets by the caller's index (as
+ * CollisionResolution.insertChaining does with key % capacity) and exchange ChainElement lists;
+ * they are a compatibility path that allocates. Use add / contains / remove with
+ * {@link #bucketOf} for the primitive fast path.
+ */
+public class ArenaChainingTable implements HashTableWithChaining {
+
+    private static final int NONE = -1;
+
+    private final int maxChainLength;
+
+    private int[] heads;  // Bucket -> first entry, NONE if empty
+    private int[] keys;   // Entry arena
+    private int[] next;   // Next entry in the chain, or next free entry
+    private int arenaTop; // Entries below this index have been handed out
+    private int freeHead = NONE;
+    private int mask;
+    private int size;
+
+    public ArenaChainingTable() {
+        this(16, 8);
+    }
+
+    /**
+     * * @param initialBuckets Minimum number of buckets (rounded up to a power of two)
+     * @param maxChainLength A chain longer than this triggers a rehash
+     */
+    public ArenaChainingTable(int initialBuckets, int maxChainLength) {
+        if (maxChainLength < 1) {
+            throw new IllegalArgumentException("Chain length limit must be positive: " + maxChainLength);
+        }
+        this.maxChainLength = maxChainLength;
+        int buckets = tableSizeFor(initialBuckets);
+        this.heads = new int[buckets];
+        Arrays.fill(heads, NONE);
+        this.mask = buckets - 1;
+        this.keys = new int[buckets];
+        this.next = new int[buckets];
+    }
+
+    /**
+     * Builds a table from many keys at once (duplicates are dropped).
+     * Keys are counting-sorted by bucket straight into the arena, so every chain occupies
+     * consecutive entries and a lookup walks sequential memory.
+     * Time Complexity: O(n) expected
+     * * @param input The keys (not modified)
+     * @param count Number of valid entries in input
+     */
+    public static ArenaChainingTable bulkBuild(int[] input, int count) {
+        ArenaChainingTable table = new ArenaChainingTable(count, 8);
+        int buckets = table.heads.length;
+        table.keys = new int[Math.max(count, 1)];
+        table.next = new int[Math.max(count, 1)];
+
+        // Counting sort by bucket: starts[b] .. starts[b + 1] will hold bucket b
+        int[] starts = new int[buckets + 1];
+        for (int i = 0; i < count; i++) {
+            starts[table.bucketOf(input[i]) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] fill = Arrays.copyOf(starts, buckets);
+        for (int i = 0; i < count; i++) {
+            table.keys[fill[table.bucketOf(input[i])]++] = input[i];
+        }
+
+        // Deduplicate each bucket, compact the arena and link the chains
+        int write = 0;
+        for (int b = 0; b < buckets; b++) {
+            int first = write;
+            int start = starts[b];
+            int end = starts[b + 1];
+            boolean sorted = end - start > 8;
+            if (sorted) {
+                Arrays.sort(table.keys, start, end); // Long bucket (duplicates): sort instead of pairwise checks
+            }
+            for (int read = start; read < end; read++) {
+                int key = table.keys[read];
+                boolean duplicate = sorted
+                        ? write > first && table.keys[write - 1] == key
+                        : containsRange(table.keys, first, write, key);
+                if (!duplicate) {
+                    table.keys[write++] = key;
+                }
+            }
+            if (write > first) {
+                table.heads[b] = first;
+                for (int e = first; e < write - 1; e++) {
+                    table.next[e] = e + 1;
+                }
+                table.next[write - 1] = NONE;
+            }
+        }
+        table.arenaTop = write;
+        table.size = write;
+        return table;
+    }
+
+    // --- Primitive fast path ---
+
+    /**
+     * Inserts a key at the head of its chain.
+     * Time Complexity: O(1) expected
+     * @return false if the key was already present
+     */
+    public boolean add(int key) {
+        int bucket = bucketOf(key);
+        int length = 0;
+        for (int e = heads[bucket]; e != NONE; e = next[e]) {
+            if (keys[e] == key) {
+                return false;
+            }
+            length++;
+        }
+        int entry = allocate(key);
+        next[entry] = heads[bucket];
+        heads[bucket] = entry;
+        size++;
+
+        // Long chain (unless buckets already outnumber keys 8:1) or average length above 1
+        boolean longChain = length + 1 > maxChainLength && size >= heads.length / 8;
+        if ((longChain || size > heads.length) && heads.length < 1 << 30) {
+            rehash(heads.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        for (int e = heads[bucketOf(key)]; e != NONE; e = next[e]) {
+            if (keys[e] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unlinks a key and puts its entry on the free list.
+     * @return false if the key was absent
+     */
+    public boolean remove(int key) {
+        int bucket = bucketOf(key);
+        int previous = NONE;
+        for (int e = heads[bucket]; e != NONE; previous = e, e = next[e]) {
+            if (keys[e] == key) {
+                if (previous == NONE) {
+                    heads[bucket] = next[e];
+                } else {
+                    next[previous] = next[e];
+                }
+                release(e);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Bucket used by the fast path: mixed hash, masked to the power-of-two bucket count. */
+    public int bucketOf(int key) {
+        return CollisionResolution.mix(key) & mask;
+    }
+
+    public int size() { return size; }
+
+    public int bucketCount() { return heads.length; }
+
+    public int chainLength(int bucket) {
+        int length = 0;
+        for (int e = heads[bucket]; e != NONE; e = next[e]) {
+            length++;
+        }
+        return length;
+    }
+
+    // --- HashTableWithChaining: compatibility path (no rehash, caller-defined buckets) ---
+
+    @Override
+    public boolean containsNoChainElement(int index) {
+        return heads[index] == NONE;
+    }
+
+    /**
+     * Stores the keys of the given ChainElement list as the bucket's chain.
+     */
+    @Override
+    public void insertChainElement(ChainElement element, int index) {
+        replaceChainElement(element, index);
+    }
+
+    /**
+     * Returns the bucket's chain as a freshly allocated ChainElement list, or null if empty.
+     */
+    @Override
+    public ChainElement get(int index) {
+        ChainElement first = null;
+        ChainElement last = null;
+        for (int e = heads[index]; e != NONE; e = next[e]) {
+            ChainElement element = new ChainElement(keys[e]);
+            if (last == null) {
+                first = element;
+            } else {
+                last.setNext(element);
+            }
+            last = element;
+        }
+        return first;
+    }
+
+    /**
+     * Replaces the bucket's chain by the keys of the given ChainElement list (in list order).
+     * The old entries are released first, so re-storing a list obtained from {@link #get}
+     * reuses them.
+     */
+    @Override
+    public void replaceChainElement(ChainElement element, int index) {
+        for (int e = heads[index]; e != NONE; ) {
+            int following = next[e];
+            release(e);
+            size--;
+            e = following;
+        }
+        heads[index] = NONE;
+
+        int tail = NONE;
+        for (ChainElement current = element; current != null; current = current.getNext()) {
+            int entry = allocate(current.getKey());
+            next[entry] = NONE;
+            if (tail == NONE) {
+                heads[index] = entry;
+            } else {
+                next[tail] = entry;
+            }
+            tail = entry;
+            size++;
+        }
+    }
+
+    // --- Internals ---
+
+    private int allocate(int key) {
+        int entry;
+        if (freeHead != NONE) {
+            entry = freeHead;
+            freeHead = next[entry];
+        } else {
+            if (arenaTop == keys.length) {
+                int grown = Math.max(16, keys.length * 2);
+                keys = Arrays.copyOf(keys, grown);
+                next = Arrays.copyOf(next, grown);
+            }
+            entry = arenaTop++;
+        }
+        keys[entry] = key;
+        return entry;
+    }
+
+    private void release(int entry) {
+        next[entry] = freeHead;
+        freeHead = entry;
+    }
+
+    /**
+     * Relinks every live entry into a bucket array of the new size; keys stay where they are.
+     */
+    private void rehash(int newBuckets) {
+        int[] oldHeads = heads;
+        heads = new int[newBuckets];
+        Arrays.fill(heads, NONE);
+        mask = newBuckets - 1;
+        for (int head : oldHeads) {
+            for (int e = head; e != NONE; ) {
+                int following = next[e];
+                int bucket = bucketOf(keys[e]);
+                next[e] = heads[bucket];
+                heads[bucket] = e;
+                e = following;
+            }
+        }
+    }
+
+    private static boolean containsRange(int[] array, int from, int to, int key) {
+        for (int i = to - 1; i >= from; i--) {
+            if (array[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int tableSizeFor(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
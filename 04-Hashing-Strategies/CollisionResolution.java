@@ -5,6 +5,23 @@
  */
 public class CollisionResolution {
 
+    /** Keys whose first probes are issued together by the batch operations. */
+    private static final int BATCH_GROUP = 16;
+
+    // Optional instrumentation; null (the default) means off
+    private ProbeMetrics metrics;
+
+    /**
+     * Attaches probe metrics to the open addressing methods, or detaches them with null.
+     */
+    public void setMetrics(ProbeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ProbeMetrics getMetrics() {
+        return metrics;
+    }
+
     // --- Part 1: Chaining ---
 
     /**
@@ -55,22 +72,223 @@ public class CollisionResolution {
         return (h1 + i * h2) % capacity;
     }
 
+    // --- Power-of-two capacity: mixed hash + bit mask instead of key % capacity ---
+    // The methods below require capacity to be a power of two.
+
+    /**
+     * Murmur3 finalizer. Every input bit affects every output bit, so sequential or strided keys
+     * spread evenly even when only the low bits are used as the slot index.
+     */
+    public static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Linear Probing on a power-of-two table.
+     * Formula: (mix(k) + i) & (m - 1)
+     */
+    public int probeLinearPow2(int key, int i, int capacity) {
+        return (mix(key) + i) & (capacity - 1);
+    }
+
+    /**
+     * Quadratic Probing on a power-of-two table.
+     * Formula: (mix(k) + i(i+1)/2) & (m - 1)
+     * The triangular numbers hit every slot exactly once for i < m when m is a power of two.
+     */
+    public int probeQuadraticPow2(int key, int i, int capacity) {
+        return (int) (mix(key) + ((long) i * (i + 1) >>> 1)) & (capacity - 1);
+    }
+
+    /**
+     * Double Hashing on a power-of-two table.
+     * Formula: (h1(k) + i * h2(k)) & (m - 1) with an odd step h2, which is coprime to m,
+     * so the probe sequence covers the full table.
+     */
+    public int probeDoubleHashingPow2(int key, int i, int capacity) {
+        int h = mix(key);
+        return (h + i * oddStep(h)) & (capacity - 1);
+    }
+
+    /**
+     * Secondary hash for power-of-two tables: the other half of the mixed hash, forced odd.
+     */
+    public static int oddStep(int hash) {
+        return Integer.rotateLeft(hash, 16) | 1;
+    }
+
     /**
      * Generic Insert method using a provided Probing Strategy (Strategy Pattern).
+     * A new key goes into the first tombstone of its sequence, if any; the search for
+     * an existing copy still continues up to the first free slot.
+     * @return false if the table is full or the probe sequence failed (the key was not stored)
      */
-    public void insert(HashTable table, Probe probeStrategy, int key, int capacity) {
+    public boolean insert(HashTable table, Probe probeStrategy, int key, int capacity) {
+        int tombstone = -1;
         for (int i = 0; i < capacity; i++) {
             int position = probeStrategy.evaluate(key, i);
 
             if (table.isFree(position)) {
-                table.insert(key, position);
-                return;
+                table.insert(key, tombstone >= 0 ? tombstone : position);
+                recordInsert(i + 1, true);
+                return true;
+            } else if (table.isDeleted(position)) {
+                if (tombstone < 0) {
+                    tombstone = position;
+                }
             } else if (table.get(position) == key) {
                 table.replace(key, position); // Update/Overwrite
-                return;
+                recordInsert(i + 1, true);
+                return true;
             }
         }
+        if (tombstone >= 0) {
+            table.insert(key, tombstone);
+            recordInsert(capacity, true);
+            return true;
+        }
         // Table is full or probe sequence failed
+        recordInsert(capacity, false);
+        return false;
+    }
+
+    /**
+     * Generic Lookup following the same probe sequence as insert.
+     * Brent tables are searched with probeDoubleHashing (or probeDoubleHashingPow2),
+     * whose sequence Brent's method keeps every key on.
+     * @return The position of the key, or -1 if a free slot ends the sequence first
+     */
+    public int find(HashTable table, Probe probeStrategy, int key, int capacity) {
+        return findFrom(table, probeStrategy, key, capacity, 0);
+    }
+
+    private int findFrom(HashTable table, Probe probeStrategy, int key, int capacity, int start) {
+        for (int i = start; i < capacity; i++) {
+            int position = probeStrategy.evaluate(key, i);
+
+            if (table.isFree(position)) {
+                recordLookup(i + 1);
+                return -1;
+            } else if (!table.isDeleted(position) && table.get(position) == key) {
+                recordLookup(i + 1);
+                return position;
+            }
+        }
+        recordLookup(capacity);
+        return -1;
+    }
+
+    /**
+     * Batch Lookup: finds many keys with the same probe sequences as find.
+     * Keys are processed in groups of 16. Stage 1 reads the first probe slot of every key of
+     * the group back to back; these reads are independent, so the CPU overlaps their cache misses
+     * (memory-level parallelism) instead of paying them one after another. Stage 2 finishes each
+     * key's probe sequence, usually starting from a slot that is already in cache.
+     * The group scratch is allocated once per call, so concurrent batch calls do not interfere.
+     * * @param keys The keys to look up
+     * @param count Number of valid entries in keys
+     * @param slots Output: position of each key, or -1 if absent
+     */
+    public void findBatch(HashTable table, Probe probeStrategy, int[] keys, int count, int capacity, int[] slots) {
+        ProbeGroup group = new ProbeGroup();
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            findGroup(table, probeStrategy, keys, base, Math.min(BATCH_GROUP, count - base), capacity,
+                    group, slots, base);
+        }
+    }
+
+    /**
+     * Batch membership test (see findBatch). Allocates only the per-call group scratch.
+     * * @param found Output bitmap: bit i (found[i >>> 6], bit i & 63) is set if keys[i] is present
+     * @return The number of keys found
+     */
+    public int containsBatch(HashTable table, Probe probeStrategy, int[] keys, int count, int capacity, long[] found) {
+        for (int i = 0; i < (count + 63) >>> 6; i++) {
+            found[i] = 0;
+        }
+        int hits = 0;
+        ProbeGroup group = new ProbeGroup();
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            int n = Math.min(BATCH_GROUP, count - base);
+            findGroup(table, probeStrategy, keys, base, n, capacity, group, group.slots, 0);
+            for (int j = 0; j < n; j++) {
+                if (group.slots[j] >= 0) {
+                    found[(base + j) >>> 6] |= 1L << (base + j);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Batch Insert: inserts many keys with the same probe sequences as insert.
+     * Stage 1 reads the first probe slot of each group of 16 keys, as in findBatch; the keys are
+     * then inserted one by one, in order, so keys of the same group that collide see each other.
+     * @return The number of keys stored; less than count only if the table ran full
+     */
+    public int insertBatch(HashTable table, Probe probeStrategy, int[] keys, int count, int capacity) {
+        int stored = 0;
+        ProbeGroup group = new ProbeGroup();
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            int n = Math.min(BATCH_GROUP, count - base);
+            loadFirstProbes(table, probeStrategy, keys, base, n, group, group.slots, 0);
+            for (int j = 0; j < n; j++) {
+                if (insert(table, probeStrategy, keys[base + j], capacity)) {
+                    stored++;
+                }
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Resolves keys[base, base + n); out[outBase + j] receives the position of key j or -1.
+     */
+    private void findGroup(HashTable table, Probe probeStrategy, int[] keys, int base, int n,
+                           int capacity, ProbeGroup group, int[] out, int outBase) {
+        loadFirstProbes(table, probeStrategy, keys, base, n, group, out, outBase);
+        for (int j = 0; j < n; j++) {
+            int key = keys[base + j];
+            if (group.free[j]) {
+                out[outBase + j] = -1;
+                recordLookup(1);
+            } else if (group.live[j] && group.keys[j] == key) {
+                recordLookup(1);
+            } else {
+                out[outBase + j] = findFrom(table, probeStrategy, key, capacity, 1);
+            }
+        }
+    }
+
+    /**
+     * Stage 1: first probe position of each key into out, its slot contents into the group scratch.
+     */
+    private void loadFirstProbes(HashTable table, Probe probeStrategy, int[] keys, int base, int n,
+                                 ProbeGroup group, int[] out, int outBase) {
+        for (int j = 0; j < n; j++) {
+            int position = probeStrategy.evaluate(keys[base + j], 0);
+            out[outBase + j] = position;
+            group.free[j] = table.isFree(position);
+            group.live[j] = !group.free[j] && !table.isDeleted(position);
+            group.keys[j] = group.live[j] ? table.get(position) : 0;
+        }
+    }
+
+    /**
+     * Scratch for one group of a batch operation: first probe slots and their contents.
+     */
+    private static final class ProbeGroup {
+        final int[] slots = new int[BATCH_GROUP];
+        final boolean[] free = new boolean[BATCH_GROUP];
+        final boolean[] live = new boolean[BATCH_GROUP]; // Holds a key (neither free nor a tombstone)
+        final int[] keys = new int[BATCH_GROUP];
     }
 
     // --- Part 3: Advanced Optimization ---
@@ -79,13 +297,14 @@ public class CollisionResolution {
      * Brent's Method for insertion.
      * Optimizes average search time by moving existing elements during insertion
      * if moving them requires fewer total steps than placing the new element at the end of its probe sequence.
+     * @return false if the table is full (the key being placed was not stored)
      */
-    public void insertBrentOptimized(HashTable table, int key, int capacity) {
+    public boolean insertBrentOptimized(HashTable table, int key, int capacity) {
         int j = key % capacity;
         int i = 0;
 
         // Search for a free slot or optimization opportunity
-        while (i < capacity && !table.isFree(j)) {
+        while (i < capacity && holdsKey(table, j)) {
             int existingKey = table.get(j);
 
             // Calculate next steps for the NEW key
@@ -99,19 +318,87 @@ public class CollisionResolution {
             // Brent's Optimization Logic:
             // Check if moving the existing key to its next position is better
             // than moving the new key to its next position.
-            if (table.isFree(nextPosNew) || !table.isFree(nextPosExisting)) {
+            if (!holdsKey(table, nextPosNew) || holdsKey(table, nextPosExisting)) {
                 j = nextPosNew; // Move new key forward
             } else {
                 // Swap: Place new key here, push old key to its next position
                 table.replace(key, j);
                 key = existingKey; // The old key becomes the one to insert
                 j = nextPosExisting;
+                recordRelocation();
             }
             i++;
         }
 
+        return finishBrent(table, key, j, i, capacity);
+    }
+
+    /**
+     * Brent's Method on a power-of-two table: same decision rule as insertBrentOptimized,
+     * with mixed hashes and odd steps instead of key % capacity and 1 + key % 5.
+     * @return false if the table is full (the key being placed was not stored)
+     */
+    public boolean insertBrentOptimizedPow2(HashTable table, int key, int capacity) {
+        int mask = capacity - 1;
+        int stepNew = oddStep(mix(key));
+        int j = mix(key) & mask;
+        int i = 0;
+
+        while (i < capacity && holdsKey(table, j)) {
+            int existingKey = table.get(j);
+            int stepExisting = oddStep(mix(existingKey));
+
+            int nextPosNew = (j + stepNew) & mask;
+            int nextPosExisting = (j + stepExisting) & mask;
+
+            if (!holdsKey(table, nextPosNew) || holdsKey(table, nextPosExisting)) {
+                j = nextPosNew; // Move new key forward
+            } else {
+                // Swap: Place new key here, push old key to its next position
+                table.replace(key, j);
+                key = existingKey;
+                stepNew = stepExisting;
+                j = nextPosExisting;
+                recordRelocation();
+            }
+            i++;
+        }
+
+        return finishBrent(table, key, j, i, capacity);
+    }
+
+    /** Brent treats tombstones like free slots: a key may be placed (or moved) into them. */
+    private static boolean holdsKey(HashTable table, int position) {
+        return !table.isFree(position) && !table.isDeleted(position);
+    }
+
+    private boolean finishBrent(HashTable table, int key, int j, int i, int capacity) {
         if (i < capacity) {
             table.insert(key, j);
+            recordInsert(i + 1, true);
+            return true;
+        }
+        recordInsert(capacity, false);
+        return false;
+    }
+
+    // --- Instrumentation (a null check when no metrics are attached) ---
+
+    private void recordInsert(int probes, boolean success) {
+        if (metrics != null) {
+            metrics.recordInsert(probes, success);
+        }
+    }
+
+    private void recordLookup(int probes) {
+        if (metrics != null) {
+            metrics.recordLookup(probes);
+        }
+    }
+
+    private void recordRelocation() {
+        if (metrics != null) {
+            metrics.recordRelocation();
         }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,26 @@ interface HashTable {
     int get(int index);
     void insert(int key, int index);
     void replace(int key, int index);
+
+    /**
+     * Tombstone: a removed key's slot. Not free (probe sequences continue past it) and holds no key,
+     * but insert may reuse it. Tables without deletion keep the default.
+     */
+    default boolean isDeleted(int index) {
+        return false;
+    }
+}
+
+/**
+ * Key-level operations of a complete int hash table. Independent of HashTable: only tables
+ * with stable slot indices also implement the slot-level interface for CollisionResolution.
+ */
+interface IntHashTable {
+    boolean add(int key);       // false if the key was already present
+    boolean contains(int key);
+    boolean remove(int key);    // false if the key was absent
+    int size();
+    int capacity();
 }
 
 interface Probe {
@@ -0,0 +1,831 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Randomized self-check for the hash tables.
+ * Each table is compared against java.util.HashSet (or the plain CollisionResolution methods)
+ * under random operation sequences.
+ * Usage: java HashingStrategiesCheck [seed]
+ * Prints one line per check and throws IllegalStateException on the first mismatch.
+ */
+public class HashingStrategiesCheck {
+
+    private static final CollisionResolution CR = new CollisionResolution();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        Random random = new Random(seed);
+        System.out.println("Seed " + seed);
+
+        checkIntOpenHashTable(random);
+        checkRawSlotAccess(random);
+        checkMappedFile(random);
+        checkMappedChurn(random);
+        checkRobinHoodAndSwiss(random);
+        checkBrent(random);
+        checkPowerOfTwo(random);
+        checkConcurrentTables(random);
+        checkArenaChaining(random);
+        checkProbeMetrics(random);
+        checkTableBatches(random);
+        checkProbeBatches(random);
+        checkConcurrentBatches(random);
+    }
+
+    /**
+     * IntOpenHashTable in every strategy, plus slot-level consistency of indexOf.
+     */
+    private static void checkIntOpenHashTable(Random random) {
+        for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+            for (int round = 0; round < 40; round++) {
+                double loadFactor = 0.3 + 0.6 * random.nextDouble();
+                IntOpenHashTable table = new IntOpenHashTable(strategy, 1 + random.nextInt(20), loadFactor);
+                Set<Integer> reference = runOperations(random, table, "IntOpenHashTable " + strategy, round);
+                for (int key : reference) {
+                    int slot = table.indexOf(key);
+                    check(slot >= 0 && !table.isFree(slot) && table.get(slot) == key,
+                            "IntOpenHashTable.indexOf " + strategy, round);
+                }
+            }
+        }
+        System.out.println("IntOpenHashTable: OK");
+    }
+
+    /**
+     * CollisionResolution.insert / find through the table's HashTable and Probe views after removals:
+     * tombstones must neither end a lookup nor let a raw insert store a second copy of a key.
+     */
+    private static void checkRawSlotAccess(Random random) {
+        for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+            for (int round = 0; round < 100; round++) {
+                IntOpenHashTable table = new IntOpenHashTable(strategy, 64, 0.5);
+                Set<Integer> reference = new HashSet<>();
+                for (int i = 0; i < 25; i++) {
+                    int key = random.nextInt(200);
+                    table.add(key);
+                    reference.add(key);
+                }
+                for (int i = 0; i < 15; i++) {
+                    int key = random.nextInt(200);
+                    table.remove(key);
+                    reference.remove(key);
+                }
+
+                // Raw inserts of present and removed keys; the capacity stays fixed (no rehash)
+                int capacity = table.capacity();
+                for (int i = 0; i < 10; i++) {
+                    int key = random.nextInt(200);
+                    check(CR.insert(table, table, key, capacity), "raw insert " + strategy, round);
+                    reference.add(key);
+                    check(table.size() == reference.size(), "raw insert size " + strategy, round);
+                }
+                for (int key = 0; key < 200; key++) {
+                    int slot = CR.find(table, table, key, capacity);
+                    check((slot >= 0) == reference.contains(key) && table.contains(key) == reference.contains(key),
+                            "raw find " + strategy, round);
+                    check(slot < 0 || slot == table.indexOf(key), "raw find slot " + strategy, round);
+                }
+                // A duplicate copy behind a tombstone would survive the removal
+                for (int key : reference) {
+                    check(table.remove(key) && !table.contains(key), "no duplicate after raw insert " + strategy, round);
+                }
+            }
+        }
+        System.out.println("Raw slot access: OK");
+    }
+
+    /**
+     * MappedIntHashTable against HashSet, across close / reopen and read-only mappings.
+     */
+    private static void checkMappedFile(Random random) throws IOException {
+        Path file = Files.createTempFile("hashtable", ".bin");
+        try {
+            for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+                for (int round = 0; round < 10; round++) {
+                    // 2000 operations never need more than 2000 slots, well below 0.75 * 4096
+                    Set<Integer> reference;
+                    try (MappedIntHashTable table = MappedIntHashTable.create(file, 4_096, strategy, 0.75)) {
+                        reference = runOperations(random, table, "MappedIntHashTable " + strategy, round);
+                        table.force();
+                    }
+                    try (MappedIntHashTable table = MappedIntHashTable.open(file)) {
+                        check(table.getStrategy() == strategy, "MappedIntHashTable strategy after open", round);
+                        reference = runOperations(random, table, reference, "MappedIntHashTable reopened " + strategy, round);
+                    }
+                    try (MappedIntHashTable table = MappedIntHashTable.openReadOnly(file)) {
+                        check(table.size() == reference.size() && table.isReadOnly(), "MappedIntHashTable read-only size", round);
+                        for (int key = -KEY_RANGE; key <= KEY_RANGE; key++) {
+                            check(table.contains(key) == reference.contains(key), "MappedIntHashTable read-only contains", round);
+                        }
+                        boolean rejected = false;
+                        try {
+                            table.add(KEY_RANGE + 1);
+                        } catch (IllegalStateException e) {
+                            rejected = true;
+                        }
+                        check(rejected, "MappedIntHashTable read-only add", round);
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("MappedIntHashTable: OK");
+    }
+
+    /**
+     * Add / remove churn on a small MappedIntHashTable in every strategy: tombstones must be
+     * reclaimed, so the table only fills up when the live keys reach the load factor.
+     */
+    private static void checkMappedChurn(Random random) throws IOException {
+        Path file = Files.createTempFile("hashtable", ".bin");
+        try {
+            for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+                // 64 slots at 0.75 hold 48 keys; 40 keys removed and 40 new ones added must fit
+                try (MappedIntHashTable table = MappedIntHashTable.create(file, 64, strategy, 0.75)) {
+                    for (int key = 0; key < 40; key++) {
+                        table.add(key);
+                    }
+                    for (int key = 0; key < 40; key++) {
+                        table.remove(key);
+                    }
+                    for (int key = 100; key < 140; key++) {
+                        check(table.add(key), "MappedIntHashTable churn add " + strategy, 0);
+                    }
+                    for (int key = 0; key < 140; key++) {
+                        check(table.contains(key) == (key >= 100), "MappedIntHashTable churn contains " + strategy, 0);
+                    }
+                }
+
+                for (int round = 0; round < 20; round++) {
+                    Set<Integer> reference = new HashSet<>();
+                    try (MappedIntHashTable table = MappedIntHashTable.create(file, 64, strategy, 0.75)) {
+                        for (int step = 0; step < 2_000; step++) {
+                            int key = random.nextInt(200);
+                            if (reference.size() < 48 && random.nextBoolean()) {
+                                check(table.add(key) == reference.add(key), "MappedIntHashTable churn add " + strategy, round);
+                            } else {
+                                check(table.remove(key) == reference.remove(key), "MappedIntHashTable churn remove " + strategy, round);
+                            }
+                            check(table.size() == reference.size(), "MappedIntHashTable churn size " + strategy, round);
+                        }
+                        table.compact();
+                        for (int slot = 0; slot < 64; slot++) {
+                            check(!table.isDeleted(slot), "MappedIntHashTable compact leaves no tombstones " + strategy, round);
+                        }
+                    }
+                    try (MappedIntHashTable table = MappedIntHashTable.open(file)) {
+                        check(table.size() == reference.size(), "MappedIntHashTable churn size after open " + strategy, round);
+                        for (int key = 0; key < 200; key++) {
+                            check(table.contains(key) == reference.contains(key),
+                                    "MappedIntHashTable churn contains after open " + strategy, round);
+                        }
+                    }
+                }
+            }
+
+            // A file left behind by an interrupted compaction must not be opened
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.seek(48);
+                raw.writeInt(1);
+            }
+            boolean rejected = false;
+            try (MappedIntHashTable table = MappedIntHashTable.open(file)) {
+                table.size();
+            } catch (IOException e) {
+                rejected = true;
+            }
+            check(rejected, "MappedIntHashTable interrupted compaction", 0);
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("MappedIntHashTable churn: OK");
+    }
+
+    /**
+     * RobinHood and Swiss against HashSet; the slot view must count tombstones as neither free nor live.
+     */
+    private static void checkRobinHoodAndSwiss(Random random) {
+        for (int round = 0; round < 100; round++) {
+            runOperations(random, new RobinHoodHashTable(1 + random.nextInt(20), 0.5 + 0.45 * random.nextDouble()),
+                    "RobinHoodHashTable", round);
+
+            SwissHashTable swiss = new SwissHashTable(1 + random.nextInt(40));
+            Set<Integer> reference = runOperations(random, swiss, "SwissHashTable", round);
+            int live = 0;
+            for (int slot = 0; slot < swiss.capacity(); slot++) {
+                if (!swiss.isFree(slot) && !swiss.isDeleted(slot)) {
+                    check(reference.contains(swiss.get(slot)), "SwissHashTable slot key", round);
+                    live++;
+                }
+            }
+            check(live == reference.size(), "SwissHashTable live slots", round);
+
+            // Removing from a group without EMPTY slots leaves a tombstone, which must not look free
+            SwissHashTable full = new SwissHashTable(64);
+            while (full.size() < 55) {
+                full.add(random.nextInt());
+            }
+            for (int group = 0; group < full.capacity(); group += 8) {
+                boolean groupFull = true;
+                for (int slot = group; slot < group + 8; slot++) {
+                    groupFull &= !full.isFree(slot);
+                }
+                if (groupFull) {
+                    int key = full.get(group);
+                    check(full.remove(key) && full.isDeleted(group) && !full.isFree(group), "SwissHashTable tombstone", round);
+                    check(!full.contains(key) && full.size() == 54, "SwissHashTable remove from full group", round);
+                    break;
+                }
+            }
+        }
+        System.out.println("RobinHood, Swiss: OK");
+    }
+
+    /**
+     * Brent's method: every stored key stays findable by the matching double hashing probe.
+     */
+    private static void checkBrent(Random random) {
+        for (int round = 0; round < 300; round++) {
+            boolean powerOfTwo = round % 2 == 1;
+            int capacity = powerOfTwo ? 1 << (3 + random.nextInt(10)) : nextPrime(7 + random.nextInt(2_000));
+            Probe probe = powerOfTwo ? (k, i) -> CR.probeDoubleHashingPow2(k, i, capacity)
+                                     : (k, i) -> CR.probeDoubleHashing(k, i, capacity);
+            ArrayHashTable table = new ArrayHashTable(capacity);
+
+            // Brent does not check for duplicates, so the keys are distinct; fill up to 95 %
+            Set<Integer> stored = new HashSet<>();
+            int target = (int) (capacity * 0.95);
+            while (stored.size() < target) {
+                int key = random.nextInt(Integer.MAX_VALUE);
+                if (stored.contains(key)) {
+                    continue;
+                }
+                boolean inserted = powerOfTwo ? CR.insertBrentOptimizedPow2(table, key, capacity)
+                                              : CR.insertBrentOptimized(table, key, capacity);
+                check(inserted, "Brent insert below capacity", round);
+                stored.add(key);
+            }
+            check(table.occupied() == stored.size(), "Brent slot count", round);
+            for (int key : stored) {
+                int slot = CR.find(table, probe, key, capacity);
+                check(slot >= 0 && table.get(slot) == key, powerOfTwo ? "insertBrentOptimizedPow2" : "insertBrentOptimized", round);
+            }
+        }
+        System.out.println("Brent's method: OK");
+    }
+
+    /**
+     * Power-of-two mode: IntOpenHashTable against HashSet, and the Pow2 probes through
+     * CollisionResolution with any int key (negative ones included). Every Pow2 probe
+     * sequence must visit all slots before repeating.
+     */
+    private static void checkPowerOfTwo(Random random) {
+        for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+            for (int round = 0; round < 40; round++) {
+                IntOpenHashTable table = new IntOpenHashTable(strategy, 1 + random.nextInt(20), 0.3 + 0.6 * random.nextDouble(), true);
+                runOperations(random, table, "IntOpenHashTable pow2 " + strategy, round);
+            }
+        }
+
+        for (int round = 0; round < 300; round++) {
+            int capacity = 1 << (1 + random.nextInt(11));
+            int probeKind = random.nextInt(3);
+            Probe probe = probe(probeKind, true, capacity);
+            String name = "pow2 " + new String[] { "linear", "quadratic", "double hashing" }[probeKind];
+
+            for (int k = 0; k < 5; k++) {
+                int key = random.nextInt();
+                boolean[] visited = new boolean[capacity];
+                int distinct = 0;
+                for (int i = 0; i < capacity; i++) {
+                    int slot = probe.evaluate(key, i);
+                    check(slot >= 0 && slot < capacity, name + " slot in range", round);
+                    distinct += visited[slot] ? 0 : 1;
+                    visited[slot] = true;
+                }
+                check(distinct == capacity, name + " visits every slot", round);
+            }
+
+            ArrayHashTable table = new ArrayHashTable(capacity);
+            Set<Integer> stored = new HashSet<>();
+            int[] keys = randomKeys(random, random.nextInt(capacity + 1), 1 + random.nextInt(4 * capacity));
+            for (int key : keys) {
+                // At most capacity keys and a full-length probe sequence: insert (or overwrite) always succeeds
+                check(CR.insert(table, probe, key, capacity), "insert " + name, round);
+                stored.add(key);
+            }
+            check(table.occupied() == stored.size(), "insert " + name + " stores each key once", round);
+            for (int i = 0; i < 200; i++) {
+                int key = i < keys.length ? keys[i] : random.nextInt(8 * capacity + 1) - 4 * capacity;
+                int slot = CR.find(table, probe, key, capacity);
+                check((slot >= 0) == stored.contains(key) && (slot < 0 || table.get(slot) == key), "find " + name, round);
+            }
+        }
+        System.out.println("Power-of-two mode: OK");
+    }
+
+    /**
+     * StripedIntHashTable (all strategies) and LockFreeIntHashTable under several threads.
+     * Each thread owns a disjoint key range, so the final contents are known; a second phase
+     * races all threads on the same keys, where every key must be added exactly once.
+     */
+    private static void checkConcurrentTables(Random random) throws InterruptedException {
+        int threads = 4;
+        for (int round = 0; round < 10; round++) {
+            List<IntHashTable> tables = new ArrayList<>();
+            for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+                tables.add(new StripedIntHashTable(strategy, 1 + random.nextInt(16), 64, 0.5));
+            }
+            // Every thread touches at most 10000 distinct keys; each claims one slot for good
+            LockFreeIntHashTable lockFree = new LockFreeIntHashTable(1 << 17, random.nextBoolean());
+            tables.add(lockFree);
+
+            for (IntHashTable table : tables) {
+                String name = table.getClass().getSimpleName();
+                List<Set<Integer>> owned = new ArrayList<>();
+                long[] seeds = new long[threads];
+                for (int t = 0; t < threads; t++) {
+                    owned.add(new HashSet<>());
+                    seeds[t] = random.nextLong();
+                }
+                AtomicInteger mismatches = new AtomicInteger();
+                runThreads(threads, t -> {
+                    Random local = new Random(seeds[t]);
+                    Set<Integer> mine = owned.get(t);
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = t + threads * (local.nextInt(10_000) - 5_000); // Key % threads == t (mod)
+                        boolean expected;
+                        boolean actual;
+                        if (local.nextInt(3) == 0) {
+                            expected = mine.remove(key);
+                            actual = table.remove(key);
+                        } else {
+                            expected = mine.add(key);
+                            actual = table.add(key);
+                        }
+                        if (expected != actual || table.contains(key) != mine.contains(key)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                });
+                check(mismatches.get() == 0, name + " per-thread results", round);
+                int total = 0;
+                for (Set<Integer> mine : owned) {
+                    total += mine.size();
+                    for (int key : mine) {
+                        check(table.contains(key), name + " contains after join", round);
+                    }
+                }
+                check(table.size() == total, name + " size after join", round);
+
+                // Shared keys: exactly one add and, after all adds, one remove succeeds per key
+                int[] shared = randomKeys(random, 2_000, 1 << 30);
+                Set<Integer> distinct = new HashSet<>();
+                for (int key : shared) {
+                    if (!table.contains(key)) {
+                        distinct.add(key);
+                    }
+                }
+                AtomicInteger added = new AtomicInteger();
+                AtomicInteger removed = new AtomicInteger();
+                runThreads(threads, t -> {
+                    for (int key : distinct) {
+                        if (table.add(key)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                });
+                check(table.size() == total + distinct.size(), name + " size after shared adds", round);
+                runThreads(threads, t -> { // Separate phase, or a key could be removed and re-added
+                    for (int key : distinct) {
+                        if (table.remove(key)) {
+                            removed.incrementAndGet();
+                        }
+                    }
+                });
+                check(added.get() == distinct.size() && removed.get() == distinct.size(), name + " shared keys", round);
+                check(table.size() == total, name + " size after shared keys", round);
+            }
+            check(lockFree.claimedSlots() <= lockFree.capacity(), "LockFreeIntHashTable.claimedSlots", round);
+        }
+        System.out.println("Concurrent tables: OK");
+    }
+
+    /**
+     * ArenaChainingTable (incremental and bulk-built) against HashSet, and the ChainElement
+     * compatibility path through CollisionResolution.insertChaining against per-bucket lists.
+     */
+    private static void checkArenaChaining(Random random) {
+        for (int round = 0; round < 100; round++) {
+            runOperations(random, asIntHashTable(new ArenaChainingTable(1 + random.nextInt(20), 1 + random.nextInt(8))),
+                    "ArenaChainingTable", round);
+
+            int count = random.nextInt(2_000);
+            int[] input = new int[count];
+            Set<Integer> expected = new HashSet<>();
+            int range = 1 + random.nextInt(3_000); // Small ranges give many duplicates
+            for (int i = 0; i < count; i++) {
+                input[i] = random.nextInt(range) - range / 2;
+                expected.add(input[i]);
+            }
+            ArenaChainingTable bulk = ArenaChainingTable.bulkBuild(input, count);
+            check(bulk.size() == expected.size(), "ArenaChainingTable.bulkBuild size", round);
+            for (int key = -range; key <= range; key++) {
+                check(bulk.contains(key) == expected.contains(key), "ArenaChainingTable.bulkBuild contains", round);
+            }
+            runOperations(random, asIntHashTable(bulk), expected, "ArenaChainingTable after bulkBuild", round);
+
+            // insertChaining uses key % capacity, so the keys are non-negative
+            ArenaChainingTable chained = new ArenaChainingTable(1 + random.nextInt(20), 8);
+            int buckets = chained.bucketCount();
+            List<List<Integer>> lists = new ArrayList<>();
+            for (int b = 0; b < buckets; b++) {
+                lists.add(new ArrayList<>());
+            }
+            for (int i = random.nextInt(200); i > 0; i--) {
+                int key = random.nextInt(1_000);
+                CR.insertChaining(chained, new ChainElement(key), buckets);
+                lists.get(key % buckets).add(0, key); // New elements become the head
+            }
+            for (int b = 0; b < buckets; b++) {
+                List<Integer> chain = new ArrayList<>();
+                for (ChainElement e = chained.get(b); e != null; e = e.getNext()) {
+                    chain.add(e.getKey());
+                }
+                check(chain.equals(lists.get(b)) && chained.containsNoChainElement(b) == chain.isEmpty(),
+                        "ArenaChainingTable via insertChaining", round);
+            }
+        }
+        System.out.println("Arena chaining: OK");
+    }
+
+    /**
+     * ProbeMetrics counts one insert per insert call, one lookup per key looked up (batch or not),
+     * and one relocation per Brent swap, which is the only way keys move.
+     */
+    private static void checkProbeMetrics(Random random) {
+        CollisionResolution cr = new CollisionResolution();
+        ProbeMetrics metrics = new ProbeMetrics();
+        cr.setMetrics(metrics);
+        for (int round = 0; round < 100; round++) {
+            metrics.reset();
+            int capacity = 1 << (3 + random.nextInt(8));
+            Probe probe = probe(random.nextInt(3), true, capacity);
+            ArrayHashTable table = new ArrayHashTable(capacity);
+
+            int inserts = random.nextInt(2 * capacity); // Past capacity: failed inserts
+            int failed = 0;
+            for (int i = 0; i < inserts; i++) {
+                failed += cr.insert(table, probe, random.nextInt(Integer.MAX_VALUE), capacity) ? 0 : 1;
+            }
+            int lookups = random.nextInt(100);
+            for (int i = 0; i < lookups; i++) {
+                cr.find(table, probe, random.nextInt(Integer.MAX_VALUE), capacity);
+            }
+            int[] batch = new int[random.nextInt(100)];
+            cr.findBatch(table, probe, batch, batch.length, capacity, new int[batch.length]);
+            cr.containsBatch(table, probe, batch, batch.length, capacity, new long[(batch.length + 63) >>> 6]);
+            metrics.observeTable(table, capacity);
+
+            ProbeMetrics.Snapshot snapshot = metrics.snapshot();
+            check(snapshot.getInserts() == inserts && snapshot.getFailedInserts() == failed, "ProbeMetrics inserts", round);
+            check(snapshot.getLookups() == lookups + 2L * batch.length, "ProbeMetrics lookups", round);
+            check(snapshot.getLoadFactor() == table.occupied() / (double) capacity, "ProbeMetrics load factor", round);
+            check(snapshot.getLongestCluster() == table.longestRun(), "ProbeMetrics longest cluster", round);
+            check(snapshot.getBrentRelocations() == 0, "ProbeMetrics relocations without Brent", round);
+
+            ArrayHashTable brent = new ArrayHashTable(capacity);
+            Set<Integer> distinct = new HashSet<>();
+            while (distinct.size() < capacity / 2) {
+                int key = random.nextInt(Integer.MAX_VALUE);
+                if (distinct.add(key)) { // A duplicate would be "swapped" with itself
+                    cr.insertBrentOptimizedPow2(brent, key, capacity);
+                }
+            }
+            check(metrics.snapshot().getBrentRelocations() == brent.replaced, "ProbeMetrics relocations", round);
+        }
+        System.out.println("Probe metrics: OK");
+    }
+
+    /**
+     * IntOpenHashTable addBatch, indexOfBatch and containsBatch against add and indexOf per key.
+     */
+    private static void checkTableBatches(Random random) {
+        for (IntOpenHashTable.Strategy strategy : IntOpenHashTable.Strategy.values()) {
+            for (int round = 0; round < 40; round++) {
+                boolean powerOfTwo = random.nextBoolean();
+                IntOpenHashTable batched = new IntOpenHashTable(strategy, 16, 0.5, powerOfTwo);
+                IntOpenHashTable single = new IntOpenHashTable(strategy, 16, 0.5, powerOfTwo);
+                int count = random.nextInt(1_000);
+                int[] keys = randomKeys(random, count, 1 + random.nextInt(2_000));
+
+                int added = 0;
+                for (int i = 0; i < count; i++) {
+                    added += single.add(keys[i]) ? 1 : 0;
+                }
+                check(batched.addBatch(keys, count) == added && batched.size() == single.size(), "addBatch " + strategy, round);
+
+                int[] queries = randomKeys(random, random.nextInt(1_000), 4_000);
+                int[] slots = new int[queries.length];
+                long[] found = new long[(queries.length + 63) >>> 6];
+                batched.indexOfBatch(queries, queries.length, slots);
+                int hits = batched.containsBatch(queries, queries.length, found);
+                int expectedHits = 0;
+                for (int i = 0; i < queries.length; i++) {
+                    boolean present = single.contains(queries[i]);
+                    expectedHits += present ? 1 : 0;
+                    check(slots[i] == batched.indexOf(queries[i]), "indexOfBatch " + strategy, round);
+                    check(((found[i >>> 6] >>> i) & 1) == (present ? 1 : 0), "containsBatch " + strategy, round);
+                }
+                check(hits == expectedHits, "containsBatch count " + strategy, round);
+            }
+        }
+        System.out.println("IntOpenHashTable batches: OK");
+    }
+
+    /**
+     * CollisionResolution batch methods against insert / find one key at a time (same slots,
+     * same order), for every probe strategy in both capacity modes.
+     */
+    private static void checkProbeBatches(Random random) {
+        for (int round = 0; round < 300; round++) {
+            boolean powerOfTwo = round % 2 == 1;
+            int capacity = powerOfTwo ? 1 << (2 + random.nextInt(10)) : nextPrime(7 + random.nextInt(2_000));
+            int probeKind = random.nextInt(3);
+            Probe probe = probe(probeKind, powerOfTwo, capacity);
+            String name = (powerOfTwo ? "pow2 " : "") + new String[] { "linear", "quadratic", "double hashing" }[probeKind];
+
+            // Baseline probes use key % capacity, so keys are non-negative
+            int count = random.nextInt(capacity + 1);
+            int[] keys = randomKeys(random, count, 1 + random.nextInt(4 * capacity));
+            for (int i = 0; i < count; i++) {
+                keys[i] = Math.abs(keys[i]);
+            }
+
+            ArrayHashTable single = new ArrayHashTable(capacity);
+            ArrayHashTable batched = new ArrayHashTable(capacity);
+            Set<Integer> stored = new HashSet<>();
+            int insertedCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (CR.insert(single, probe, keys[i], capacity)) {
+                    stored.add(keys[i]);
+                    insertedCount++;
+                }
+            }
+            check(CR.insertBatch(batched, probe, keys, count, capacity) == insertedCount, "insertBatch count " + name, round);
+            check(single.sameSlots(batched), "insertBatch slots " + name, round);
+            check(single.occupied() == stored.size(), "insert " + name, round);
+
+            int[] queries = randomKeys(random, random.nextInt(500), 4 * capacity + 1);
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = Math.abs(queries[i]);
+            }
+            int[] slots = new int[queries.length];
+            long[] found = new long[(queries.length + 63) >>> 6];
+            CR.findBatch(single, probe, queries, queries.length, capacity, slots);
+            int hits = CR.containsBatch(single, probe, queries, queries.length, capacity, found);
+            int expectedHits = 0;
+            for (int i = 0; i < queries.length; i++) {
+                int slot = CR.find(single, probe, queries[i], capacity);
+                boolean present = stored.contains(queries[i]);
+                expectedHits += present ? 1 : 0;
+                check((slot >= 0) == present && (slot < 0 || single.get(slot) == queries[i]), "find " + name, round);
+                check(slots[i] == slot, "findBatch " + name, round);
+                check(((found[i >>> 6] >>> i) & 1) == (present ? 1 : 0), "containsBatch " + name, round);
+            }
+            check(hits == expectedHits, "containsBatch count " + name, round);
+        }
+        System.out.println("CollisionResolution batches: OK");
+    }
+
+    /**
+     * One CollisionResolution shared by several threads running findBatch / containsBatch on the
+     * same read-only table: every thread must get the results of find.
+     */
+    private static void checkConcurrentBatches(Random random) throws InterruptedException {
+        int threads = 4;
+        for (int round = 0; round < 10; round++) {
+            int capacity = 1 << 12;
+            Probe probe = probe(random.nextInt(3), true, capacity);
+            ArrayHashTable table = new ArrayHashTable(capacity);
+            CR.insertBatch(table, probe, randomKeys(random, capacity / 2, 1 << 20), capacity / 2, capacity);
+
+            long[] seeds = new long[threads];
+            for (int t = 0; t < threads; t++) {
+                seeds[t] = random.nextLong();
+            }
+            AtomicInteger mismatches = new AtomicInteger();
+            runThreads(threads, t -> {
+                Random local = new Random(seeds[t]);
+                for (int batch = 0; batch < 1_000; batch++) {
+                    int[] queries = randomKeys(local, 1 + local.nextInt(100), 1 << 20);
+                    int[] slots = new int[queries.length];
+                    long[] found = new long[(queries.length + 63) >>> 6];
+                    CR.findBatch(table, probe, queries, queries.length, capacity, slots);
+                    CR.containsBatch(table, probe, queries, queries.length, capacity, found);
+                    for (int i = 0; i < queries.length; i++) {
+                        int slot = CR.find(table, probe, queries[i], capacity);
+                        if (slots[i] != slot || ((found[i >>> 6] >>> i) & 1) != (slot >= 0 ? 1 : 0)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            check(mismatches.get() == 0, "concurrent findBatch / containsBatch", round);
+        }
+        System.out.println("Concurrent batches: OK");
+    }
+
+    // --- Helpers ---
+
+    /** Keys of the random operation sequences are drawn from [-KEY_RANGE, KEY_RANGE]. */
+    private static final int KEY_RANGE = 300;
+
+    private static Set<Integer> runOperations(Random random, IntHashTable table, String name, int round) {
+        return runOperations(random, table, new HashSet<>(), name, round);
+    }
+
+    /**
+     * Applies 2000 random add / contains / remove calls (including 0 and the int extremes)
+     * to the table and to the reference set, which must already hold the same keys.
+     */
+    private static Set<Integer> runOperations(Random random, IntHashTable table, Set<Integer> reference,
+                                              String name, int round) {
+        for (int step = 0; step < 2_000; step++) {
+            int key;
+            switch (random.nextInt(20)) {
+                case 0: key = Integer.MIN_VALUE; break;
+                case 1: key = Integer.MAX_VALUE; break;
+                case 2: key = 0; break;
+                default: key = random.nextInt(2 * KEY_RANGE + 1) - KEY_RANGE;
+            }
+            switch (random.nextInt(3)) {
+                case 0:
+                    check(table.add(key) == reference.add(key), name + ".add", round);
+                    break;
+                case 1:
+                    check(table.remove(key) == reference.remove(key), name + ".remove", round);
+                    break;
+                default:
+                    check(table.contains(key) == reference.contains(key), name + ".contains", round);
+            }
+            check(table.size() == reference.size(), name + ".size", round);
+        }
+        for (int key : reference) {
+            check(table.contains(key), name + ".contains at the end", round);
+        }
+        return reference;
+    }
+
+    /** Key-level view of an ArenaChainingTable (capacity: its bucket count). */
+    private static IntHashTable asIntHashTable(ArenaChainingTable table) {
+        return new IntHashTable() {
+            @Override
+            public boolean add(int key) { return table.add(key); }
+
+            @Override
+            public boolean contains(int key) { return table.contains(key); }
+
+            @Override
+            public boolean remove(int key) { return table.remove(key); }
+
+            @Override
+            public int size() { return table.size(); }
+
+            @Override
+            public int capacity() { return table.bucketCount(); }
+        };
+    }
+
+    /** 0 = linear, 1 = quadratic, 2 = double hashing; the Pow2 variants need a power-of-two capacity. */
+    private static Probe probe(int kind, boolean powerOfTwo, int capacity) {
+        switch (kind) {
+            case 0:
+                return powerOfTwo ? (k, i) -> CR.probeLinearPow2(k, i, capacity) : (k, i) -> CR.probeLinear(k, i, capacity);
+            case 1:
+                return powerOfTwo ? (k, i) -> CR.probeQuadraticPow2(k, i, capacity) : (k, i) -> CR.probeQuadratic(k, i, capacity);
+            default:
+                return powerOfTwo ? (k, i) -> CR.probeDoubleHashingPow2(k, i, capacity)
+                                  : (k, i) -> CR.probeDoubleHashing(k, i, capacity);
+        }
+    }
+
+    private static int[] randomKeys(Random random, int count, int range) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextInt(range) - range / 2;
+        }
+        return keys;
+    }
+
+    private static int nextPrime(int n) {
+        for (int candidate = Math.max(n, 2); ; candidate++) {
+            boolean prime = true;
+            for (int d = 2; (long) d * d <= candidate && prime; d++) {
+                prime = candidate % d != 0;
+            }
+            if (prime) {
+                return candidate;
+            }
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread);
+    }
+
+    private static void runThreads(int count, ThreadBody body) throws InterruptedException {
+        Thread[] workers = new Thread[count];
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < count; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> body.run(thread));
+            workers[t].setUncaughtExceptionHandler((w, e) -> failure[0] = e);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Worker thread failed", failure[0]);
+        }
+    }
+
+    private static void check(boolean condition, String what, int round) {
+        if (!condition) {
+            throw new IllegalStateException(what + " failed (round " + round + ")");
+        }
+    }
+
+    /**
+     * Reference slot storage for CollisionResolution: a key array plus an occupancy array.
+     */
+    private static final class ArrayHashTable implements HashTable {
+        final int[] keys;
+        final boolean[] used;
+        int replaced; // replace calls on an occupied slot with a different key (Brent swaps)
+
+        ArrayHashTable(int capacity) {
+            keys = new int[capacity];
+            used = new boolean[capacity];
+        }
+
+        @Override
+        public boolean isFree(int index) {
+            return !used[index];
+        }
+
+        @Override
+        public int get(int index) {
+            return keys[index];
+        }
+
+        @Override
+        public void insert(int key, int index) {
+            keys[index] = key;
+            used[index] = true;
+        }
+
+        @Override
+        public void replace(int key, int index) {
+            if (used[index] && keys[index] != key) {
+                replaced++;
+            }
+            insert(key, index);
+        }
+
+        boolean sameSlots(ArrayHashTable other) {
+            return Arrays.equals(keys, other.keys) && Arrays.equals(used, other.used);
+        }
+
+        int occupied() {
+            int count = 0;
+            for (boolean u : used) {
+                count += u ? 1 : 0;
+            }
+            return count;
+        }
+
+        /** Longest run of occupied slots, wrapping around the end. */
+        int longestRun() {
+            int n = used.length;
+            int longest = 0;
+            int run = 0;
+            for (int i = 0; i < 2 * n && longest < n; i++) {
+                run = used[i % n] ? run + 1 : 0;
+                longest = Math.max(longest, Math.min(run, n));
+            }
+            return longest;
+        }
+    }
+}
@@ -0,0 +1,517 @@
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table for int keys on flat primitive arrays.
+ * Supports all strategies of CollisionResolution; the probe sequence is computed inline
+ * (a switch on a final field) instead of through Probe.evaluate calls, and the next slot is
+ * derived incrementally from the previous one, so a probe step needs no division.
+ * * Slot states live in a separate byte[], so every int value is a valid key.
+ * Two capacity modes:
+ * - Prime (default): h(k) = k mod m uses all key bits and double hashing visits every slot.
+ * - Power of two: h(k) = mix(k) & (m - 1) with an odd double hashing step, so no division at all;
+ *   triangular quadratic probing then also visits every slot.
+ * Deletion uses backward shifting for linear probing (no tombstones) and tombstones otherwise.
+ * The table grows when keys plus tombstones exceed the load factor, or when a probe
+ * sequence runs out of free slots (possible with quadratic probing above load 0.5).
+ */
+public class IntOpenHashTable implements IntHashTable, HashTable, Probe {
+
+    public enum Strategy { LINEAR, QUADRATIC, DOUBLE_HASHING, BRENT }
+
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2; // Tombstone
+
+    /** Keys whose first probes are issued together by the batch lookups. */
+    private static final int BATCH_GROUP = 16;
+
+    private final Strategy strategy;
+    private final double loadFactor;
+    private final boolean powerOfTwo;
+
+    private int[] keys;
+    private byte[] states;
+    private int capacity;
+    private int mask;    // capacity - 1 in power-of-two mode
+    private int size;
+    private int tombstones;
+    private int maxFill; // Keys + tombstones allowed before the table is rebuilt
+
+    // Scratch for one group of a batch operation
+    private final int[] groupSlots = new int[BATCH_GROUP];
+    private final byte[] groupStates = new byte[BATCH_GROUP];
+    private final int[] groupKeys = new int[BATCH_GROUP];
+
+    public IntOpenHashTable(Strategy strategy) {
+        this(strategy, 16, 0.5);
+    }
+
+    /**
+     * * @param strategy The probing strategy
+     * @param initialCapacity Minimum number of slots (rounded up to a prime)
+     * @param loadFactor Maximum fill ratio, in (0, 1)
+     */
+    public IntOpenHashTable(Strategy strategy, int initialCapacity, double loadFactor) {
+        this(strategy, initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * * @param strategy The probing strategy
+     * @param initialCapacity Minimum number of slots (rounded up to a prime or a power of two)
+     * @param loadFactor Maximum fill ratio, in (0, 1)
+     * @param powerOfTwo Use power-of-two capacities with a mixed hash instead of primes
+     */
+    public IntOpenHashTable(Strategy strategy, int initialCapacity, double loadFactor, boolean powerOfTwo) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        this.strategy = strategy;
+        this.loadFactor = loadFactor;
+        this.powerOfTwo = powerOfTwo;
+        allocate(powerOfTwo
+                ? Math.max(4, Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1)
+                : nextPrime(Math.max(initialCapacity, 3)));
+    }
+
+    // --- Key-level operations ---
+
+    /**
+     * Inserts a key.
+     * Time Complexity: O(1) expected
+     * @return false if the key was already present
+     */
+    @Override
+    public boolean add(int key) {
+        if (size + tombstones >= maxFill) {
+            rehash();
+        }
+        if (strategy == Strategy.BRENT) {
+            if (indexOf(key) >= 0) {
+                return false;
+            }
+            insertNew(key);
+            return true;
+        }
+
+        // Lookup and insertion in one pass: remember the first reusable slot
+        int pos = home(key);
+        int step = step(key);
+        int free = -1;
+        for (int i = 1; i <= capacity; i++) {
+            byte state = states[pos];
+            if (state == EMPTY) {
+                if (free < 0) {
+                    free = pos;
+                }
+                break;
+            }
+            if (state == DELETED) {
+                if (free < 0) {
+                    free = pos;
+                }
+            } else if (keys[pos] == key) {
+                return false;
+            }
+            pos = next(pos, i, step);
+        }
+        if (free < 0) {
+            grow();
+            insertNew(key);
+        } else {
+            place(free, key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Removes a key: backward shift for linear probing, tombstone otherwise.
+     * @return false if the key was absent
+     */
+    @Override
+    public boolean remove(int key) {
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return false;
+        }
+        size--;
+        if (strategy == Strategy.LINEAR) {
+            shiftBack(pos);
+        } else {
+            states[pos] = DELETED;
+            tombstones++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1.
+     */
+    public int indexOf(int key) {
+        int pos = home(key);
+        int step = step(key);
+        for (int i = 1; i <= capacity; i++) {
+            byte state = states[pos];
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == FULL && keys[pos] == key) {
+                return pos;
+            }
+            pos = next(pos, i, step);
+        }
+        return -1;
+    }
+
+    // --- Batch operations (see containsBatch) ---
+
+    /**
+     * Looks up many keys at once (see {@link #containsBatch}).
+     * Time Complexity: O(count) expected
+     * * @param keys The keys to look up
+     * @param count Number of valid entries in keys
+     * @param slots Output: slot of each key, or -1 if absent
+     */
+    public void indexOfBatch(int[] keys, int count, int[] slots) {
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            probeGroup(keys, base, Math.min(BATCH_GROUP, count - base), slots, base);
+        }
+    }
+
+    /**
+     * Checks many keys at once. Keys are processed in groups of 16: the home slots of the whole
+     * group are read first, back to back, so the cache misses of independent keys overlap instead
+     * of being paid one after another; then each key finishes its probe sequence.
+     * Pays off once the table no longer fits in cache; same result as calling contains per key.
+     * Allocates nothing.
+     * Time Complexity: O(count) expected
+     * * @param keys The keys to look up
+     * @param count Number of valid entries in keys
+     * @param found Output bitmap: bit i (found[i >>> 6], bit i & 63) is set if keys[i] is present
+     * @return The number of keys found
+     */
+    public int containsBatch(int[] keys, int count, long[] found) {
+        int hits = 0;
+        Arrays.fill(found, 0, (count + 63) >>> 6, 0L);
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            int n = Math.min(BATCH_GROUP, count - base);
+            probeGroup(keys, base, n, groupSlots, 0);
+            for (int j = 0; j < n; j++) {
+                if (groupSlots[j] >= 0) {
+                    found[(base + j) >>> 6] |= 1L << (base + j);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Inserts many keys at once. The home slots of each group of 16 are read first, as in
+     * containsBatch, so the following adds mostly find their first slot in cache.
+     * Same result as calling add per key, in order.
+     * Time Complexity: O(count) expected
+     * * @param keys The keys to insert
+     * @param count Number of valid entries in keys
+     * @return The number of keys that were not present before
+     */
+    public int addBatch(int[] keys, int count) {
+        int added = 0;
+        for (int base = 0; base < count; base += BATCH_GROUP) {
+            int n = Math.min(BATCH_GROUP, count - base);
+            loadHomeSlots(keys, base, n, groupSlots, 0);
+            for (int j = 0; j < n; j++) {
+                if (add(keys[base + j])) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Resolves batchKeys[base, base + n); out[outBase + j] receives the slot of key j or -1.
+     * Stage 1 loads the home slot of every key of the group back to back, so their cache misses
+     * are in flight together; stage 2 finishes each key's probe sequence from there.
+     */
+    private void probeGroup(int[] batchKeys, int base, int n, int[] out, int outBase) {
+        loadHomeSlots(batchKeys, base, n, out, outBase);
+        for (int j = 0; j < n; j++) {
+            int key = batchKeys[base + j];
+            if (groupStates[j] == EMPTY) {
+                out[outBase + j] = -1;
+                continue;
+            }
+            if (groupStates[j] == FULL && groupKeys[j] == key) {
+                continue;
+            }
+            int pos = out[outBase + j];
+            int step = step(key);
+            out[outBase + j] = -1;
+            for (int i = 1; i < capacity; i++) {
+                pos = next(pos, i, step);
+                byte state = states[pos];
+                if (state == EMPTY) {
+                    break;
+                }
+                if (state == FULL && keys[pos] == key) {
+                    out[outBase + j] = pos;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stage 1: home slot of each key into out, its state and key into the group scratch arrays.
+     */
+    private void loadHomeSlots(int[] batchKeys, int base, int n, int[] out, int outBase) {
+        for (int j = 0; j < n; j++) {
+            int pos = home(batchKeys[base + j]);
+            out[outBase + j] = pos;
+            groupStates[j] = states[pos];
+            groupKeys[j] = keys[pos];
+        }
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+    public Strategy getStrategy() { return strategy; }
+
+    public boolean isPowerOfTwo() { return powerOfTwo; }
+
+    // --- Probe: the table's own probe sequence, e.g. for CollisionResolution.insert ---
+
+    /**
+     * Returns the i-th slot of the key's probe sequence (Brent uses the double hashing sequence).
+     */
+    @Override
+    public int evaluate(int key, int i) {
+        long offset;
+        switch (strategy) {
+            case LINEAR:
+                offset = i;
+                break;
+            case QUADRATIC:
+                offset = (long) i * (i + 1) / 2; // 0.5*i + 0.5*i^2
+                break;
+            default:
+                offset = (long) i * step(key);
+        }
+        return (int) ((home(key) + offset) % capacity);
+    }
+
+    // --- HashTable: raw slot access ---
+    // Slots written this way must follow this table's probe sequence (see evaluate) to stay findable.
+
+    @Override
+    public boolean isFree(int index) {
+        return states[index] == EMPTY;
+    }
+
+    @Override
+    public boolean isDeleted(int index) {
+        return states[index] == DELETED;
+    }
+
+    @Override
+    public int get(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public void insert(int key, int index) {
+        if (states[index] != FULL) {
+            place(index, key);
+        } else {
+            keys[index] = key;
+        }
+    }
+
+    @Override
+    public void replace(int key, int index) {
+        insert(key, index);
+    }
+
+    // --- Internals ---
+
+    /** h1(k) = k mod m (non-negative for negative keys), or mix(k) & (m - 1). */
+    private int home(int key) {
+        return powerOfTwo ? CollisionResolution.mix(key) & mask : Math.floorMod(key, capacity);
+    }
+
+    /**
+     * h2(k) = 1 + k mod (m - 2), coprime to a prime m, or an odd step below a power-of-two m.
+     * Only double hashing and Brent need it.
+     */
+    private int step(int key) {
+        if (strategy != Strategy.DOUBLE_HASHING && strategy != Strategy.BRENT) {
+            return 1;
+        }
+        return powerOfTwo
+                ? CollisionResolution.oddStep(CollisionResolution.mix(key)) & mask
+                : 1 + Math.floorMod(key, capacity - 2);
+    }
+
+    /**
+     * Slot after pos in the probe sequence, where i is the number of the probe being made (1, 2, ...).
+     * Quadratic: h + i(i+1)/2 grows by i per probe. Every increment is at most m, so one subtraction wraps.
+     */
+    private int next(int pos, int i, int step) {
+        switch (strategy) {
+            case LINEAR:
+                pos += 1;
+                break;
+            case QUADRATIC:
+                pos += i;
+                break;
+            default:
+                pos += step;
+        }
+        return pos >= capacity ? pos - capacity : pos;
+    }
+
+    private void place(int pos, int key) {
+        if (states[pos] == DELETED) {
+            tombstones--;
+        }
+        keys[pos] = key;
+        states[pos] = FULL;
+        size++;
+    }
+
+    /**
+     * Inserts a key known to be absent, growing the table if its probe sequence is full.
+     */
+    private void insertNew(int key) {
+        while (true) {
+            int pos = home(key);
+            int step = step(key);
+
+            if (strategy == Strategy.BRENT) {
+                // Same decision rule as CollisionResolution.insertBrentOptimized
+                for (int i = 0; i < capacity; i++) {
+                    if (states[pos] != FULL) {
+                        place(pos, key);
+                        return;
+                    }
+                    int existingKey = keys[pos];
+                    int existingStep = step(existingKey);
+                    int nextPosNew = wrap(pos + step);
+                    int nextPosExisting = wrap(pos + existingStep);
+
+                    if (states[nextPosNew] != FULL || states[nextPosExisting] == FULL) {
+                        pos = nextPosNew; // Move new key forward
+                    } else {
+                        // Swap: the new key takes this slot, the existing one moves on
+                        keys[pos] = key;
+                        key = existingKey;
+                        step = existingStep;
+                        pos = nextPosExisting;
+                    }
+                }
+            } else {
+                for (int i = 1; i <= capacity; i++) {
+                    if (states[pos] != FULL) {
+                        place(pos, key);
+                        return;
+                    }
+                    pos = next(pos, i, step);
+                }
+            }
+            grow(); // Probe sequence exhausted; key (possibly a displaced one) is still pending
+        }
+    }
+
+    private int wrap(int pos) {
+        return pos >= capacity ? pos - capacity : pos;
+    }
+
+    /**
+     * Linear probing deletion without tombstones: moves later keys of the cluster back
+     * into the hole as long as that does not put them before their home slot.
+     */
+    private void shiftBack(int hole) {
+        states[hole] = EMPTY;
+        int pos = wrap(hole + 1);
+        while (states[pos] == FULL) {
+            int home = home(keys[pos]);
+            // Key may move if its home is not cyclically within (hole, pos]
+            boolean movable = hole <= pos
+                    ? (home <= hole || home > pos)
+                    : (home <= hole && home > pos);
+            if (movable) {
+                keys[hole] = keys[pos];
+                states[hole] = FULL;
+                states[pos] = EMPTY;
+                hole = pos;
+            }
+            pos = wrap(pos + 1);
+        }
+    }
+
+    /** Rebuilds at twice the size, or at the same size if mostly tombstones caused the fill. */
+    private void rehash() {
+        rebuild(size + 1 > maxFill / 2 ? grownCapacity() : capacity);
+    }
+
+    private void grow() {
+        rebuild(grownCapacity());
+    }
+
+    private int grownCapacity() {
+        return powerOfTwo ? 2 * capacity : nextPrime(2 * capacity);
+    }
+
+    private void rebuild(int newCapacity) {
+        int[] oldKeys = keys;
+        byte[] oldStates = states;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == FULL) {
+                insertNew(oldKeys[i]);
+            }
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        keys = new int[newCapacity];
+        states = new byte[newCapacity];
+        size = 0;
+        tombstones = 0;
+        maxFill = Math.max(1, Math.min(newCapacity - 1, (int) (newCapacity * loadFactor)));
+    }
+
+    private static int nextPrime(int n) {
+        for (int candidate = Math.max(n, 2); ; candidate++) {
+            if (isPrime(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean isPrime(int n) {
+        if (n < 4) {
+            return n >= 2;
+        }
+        if (n % 2 == 0) {
+            return false;
+        }
+        for (int d = 3; d <= n / d; d += 2) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free open-addressing hash set for int keys, safe for any number of threads.
+ * * A slot is claimed for a key with one CAS (EMPTY -> key) and then belongs to that key forever:
+ * keys never move, so lookups can run concurrently with inserts without seeing a key twice or
+ * missing it. Membership is a separate per-slot flag, also set and cleared by CAS, so a key can be
+ * removed and re-added without tombstones or duplicate slots.
+ * * Capacity limit: the capacity is fixed (a power of two) and a claimed slot is never released.
+ * remove only clears the flag, and only a later add of the same key reuses the slot. Churn over
+ * many distinct keys therefore uses up slots even while size() stays small: size the table for
+ * the number of distinct keys it will ever see. Once no slot can be claimed, add returns false
+ * (check {@link #claimedSlots()} to tell this apart from a duplicate).
+ * Linear probing or double hashing (odd step); slots are found via CollisionResolution.mix.
+ */
+public class LockFreeIntHashTable implements IntHashTable {
+
+    private static final int EMPTY = 0; // Key 0 is kept outside the table
+
+    private final boolean doubleHashing;
+    private final AtomicIntegerArray keys;
+    private final AtomicIntegerArray present; // 1 if the slot's key is currently in the set
+    private final AtomicBoolean zeroPresent = new AtomicBoolean();
+    private final LongAdder size = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final int mask;
+
+    /**
+     * * @param capacity Number of slots (rounded up to a power of two); keep distinct keys well below it
+     * @param doubleHashing Probe with an odd double hashing step instead of linearly
+     */
+    public LockFreeIntHashTable(int capacity, boolean doubleHashing) {
+        int slots = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.doubleHashing = doubleHashing;
+        this.keys = new AtomicIntegerArray(slots);
+        this.present = new AtomicIntegerArray(slots);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Inserts a key.
+     * Time Complexity: O(1) expected, lock-free
+     * @return false if the key was already present, or if every slot of its probe sequence
+     *         is claimed by other keys (the table is exhausted, see the class comment)
+     */
+    @Override
+    public boolean add(int key) {
+        if (key == EMPTY) {
+            return updateZero(true);
+        }
+        int hash = CollisionResolution.mix(key);
+        int step = step(hash);
+        int pos = hash & mask;
+        for (int i = 0; i <= mask; i++) {
+            int resident = keys.get(pos);
+            if (resident == EMPTY) {
+                // Claim the slot; if another thread won, look at what it stored
+                if (keys.compareAndSet(pos, EMPTY, key)) {
+                    claimed.increment();
+                    resident = key;
+                } else {
+                    resident = keys.get(pos);
+                }
+            }
+            if (resident == key) {
+                if (present.compareAndSet(pos, 0, 1)) {
+                    size.increment();
+                    return true;
+                }
+                return false;
+            }
+            pos = (pos + step) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return zeroPresent.get();
+        }
+        int pos = indexOf(key);
+        return pos >= 0 && present.get(pos) == 1;
+    }
+
+    /**
+     * Removes a key. Its slot stays claimed, so a later add of the same key reuses it.
+     * @return false if the key was absent
+     */
+    @Override
+    public boolean remove(int key) {
+        if (key == EMPTY) {
+            return updateZero(false);
+        }
+        int pos = indexOf(key);
+        if (pos >= 0 && present.compareAndSet(pos, 1, 0)) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the slot claimed by the key, or -1 (also for key 0, which has no slot).
+     */
+    public int indexOf(int key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+        int hash = CollisionResolution.mix(key);
+        int step = step(hash);
+        int pos = hash & mask;
+        for (int i = 0; i <= mask; i++) {
+            int resident = keys.get(pos);
+            if (resident == key) {
+                return pos;
+            }
+            if (resident == EMPTY) {
+                return -1;
+            }
+            pos = (pos + step) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of keys. Exact when no update is in flight.
+     */
+    @Override
+    public int size() {
+        return (int) size.sum();
+    }
+
+    @Override
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of slots claimed so far, by present and removed keys alike. Slots are never
+     * released, so this only grows; add starts failing as it approaches capacity().
+     */
+    public int claimedSlots() {
+        return (int) claimed.sum();
+    }
+
+    // --- Internals ---
+
+    private int step(int hash) {
+        return doubleHashing ? CollisionResolution.oddStep(hash) : 1;
+    }
+
+    private boolean updateZero(boolean add) {
+        if (zeroPresent.compareAndSet(!add, add)) {
+            if (add) {
+                size.increment();
+            } else {
+                size.decrement();
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,463 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent open-addressing hash table whose slots live in a memory-mapped file.
+ * Reopening a table maps the file and reads a 64-byte header, so it is usable in milliseconds
+ * with no deserialization; the OS pages slots in on demand. Several processes can map the same
+ * file read-only and share the page cache.
+ * * File layout (little-endian):
+ * <pre>
+ * 0   int    magic "HASH"
+ * 4   int    version
+ * 8   long   capacity (slots, power of two)
+ * 16  long   size
+ * 24  long   tombstones
+ * 32  int    strategy (IntOpenHashTable.Strategy ordinal)
+ * 40  double load factor
+ * 48  int    1 while compact() rewrites the slots
+ * 64  int[capacity]  keys
+ * ... byte[capacity] slot states (0 = empty, 1 = full, 2 = deleted)
+ * </pre>
+ * The file is mapped in regions of at most 1 GB, so tables may exceed 2^31 slots.
+ * Hashing uses a 64-bit mix with power-of-two masking. The capacity is fixed. Removed keys leave
+ * tombstones, which later adds reuse; when tombstones take up the room a new key needs, add
+ * compacts the table in place first, and only throws IllegalStateException once the keys alone
+ * reach the load factor.
+ * Writes reach the file through the OS; {@link #force()} is the explicit fsync.
+ * Instances are not thread-safe.
+ */
+public class MappedIntHashTable implements IntHashTable, HashTable, Closeable {
+
+    private static final int MAGIC = 0x48415348; // "HASH"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int OFFSET_SIZE = 16;
+    private static final int OFFSET_TOMBSTONES = 24;
+    private static final int OFFSET_COMPACTING = 48;
+
+    /** Region size; a multiple of 4 so no key straddles two regions. */
+    private static final long MAP_CHUNK_BYTES = 1L << 30;
+
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+    private static final byte MOVING = 3; // Only during compact(): key not yet re-inserted
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final boolean readOnly;
+
+    private final IntOpenHashTable.Strategy strategy;
+    private final long capacity;
+    private final long mask;
+    private final long statesOffset;
+    private final long maxFill;
+    private long size;
+    private long tombstones;
+
+    private MappedIntHashTable(FileChannel channel, boolean readOnly) throws IOException {
+        this.channel = channel;
+        this.readOnly = readOnly;
+
+        long fileBytes = channel.size();
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        this.regions = new MappedByteBuffer[(int) ((fileBytes + MAP_CHUNK_BYTES - 1) / MAP_CHUNK_BYTES)];
+        for (int r = 0; r < regions.length; r++) {
+            long offset = r * MAP_CHUNK_BYTES;
+            regions[r] = channel.map(mode, offset, Math.min(MAP_CHUNK_BYTES, fileBytes - offset));
+            regions[r].order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        if (fileBytes < HEADER_BYTES || regions[0].getInt(0) != MAGIC) {
+            throw new IOException("Not a hash table file");
+        }
+        if (regions[0].getInt(4) != VERSION) {
+            throw new IOException("Unsupported hash table version " + regions[0].getInt(4));
+        }
+        if (regions[0].getInt(OFFSET_COMPACTING) != 0) {
+            throw new IOException("Hash table file is inconsistent: compact() was interrupted");
+        }
+        this.capacity = regions[0].getLong(8);
+        this.size = regions[0].getLong(OFFSET_SIZE);
+        this.tombstones = regions[0].getLong(OFFSET_TOMBSTONES);
+        int strategyOrdinal = regions[0].getInt(32);
+        double loadFactor = regions[0].getDouble(40);
+        if (Long.bitCount(capacity) != 1 || fileBytes != fileBytes(capacity)
+                || strategyOrdinal < 0 || strategyOrdinal >= IntOpenHashTable.Strategy.values().length) {
+            throw new IOException("Corrupt header: capacity " + capacity + ", file size " + fileBytes);
+        }
+        this.strategy = IntOpenHashTable.Strategy.values()[strategyOrdinal];
+        this.mask = capacity - 1;
+        this.statesOffset = HEADER_BYTES + 4 * capacity;
+        this.maxFill = Math.max(1, Math.min(capacity - 1, (long) (capacity * loadFactor)));
+    }
+
+    /**
+     * Creates (or overwrites) a table file with all slots empty.
+     * * @param file The file to create
+     * @param minCapacity Minimum number of slots (rounded up to a power of two)
+     * @param strategy The probing strategy, recorded in the header
+     * @param loadFactor Maximum fill ratio, in (0, 1)
+     */
+    public static MappedIntHashTable create(Path file, long minCapacity, IntOpenHashTable.Strategy strategy,
+                                            double loadFactor) throws IOException {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        long capacity = minCapacity <= 2 ? 2 : Long.highestOneBit(minCapacity - 1) << 1;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            // Extending the file yields zero bytes, i.e. EMPTY slots
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, capacity);
+            header.putLong(OFFSET_SIZE, 0);
+            header.putLong(OFFSET_TOMBSTONES, 0);
+            header.putInt(32, strategy.ordinal());
+            header.putDouble(40, loadFactor);
+            long bytes = fileBytes(capacity);
+            channel.write(ByteBuffer.allocate(1), bytes - 1); // Sparse extension
+            return new MappedIntHashTable(channel, false);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing table for reading and writing.
+     */
+    public static MappedIntHashTable open(Path file) throws IOException {
+        return open(file, false);
+    }
+
+    /**
+     * Opens an existing table read-only; any number of processes may do so concurrently.
+     */
+    public static MappedIntHashTable openReadOnly(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    private static MappedIntHashTable open(Path file, boolean readOnly) throws IOException {
+        FileChannel channel = readOnly
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedIntHashTable(channel, readOnly);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // --- Key-level operations ---
+
+    /**
+     * Inserts a key into the first tombstone of its probe sequence, or else an empty slot.
+     * If only tombstones stand in the way, the table is compacted first.
+     * @return false if the key was already present
+     * @throws IllegalStateException if the table is read-only or full
+     */
+    @Override
+    public boolean add(int key) {
+        checkWritable();
+        long hash = mix64(key);
+        long step = step(hash);
+        long pos = hash & mask;
+        long free = -1;
+        for (long i = 1; i <= capacity; i++) {
+            byte state = state(pos);
+            if (state == EMPTY) {
+                if (free < 0) {
+                    free = pos;
+                }
+                break;
+            }
+            if (state == DELETED) {
+                if (free < 0) {
+                    free = pos;
+                }
+            } else if (key(pos) == key) {
+                return false;
+            }
+            pos = next(pos, i, step);
+        }
+        boolean reusesTombstone = free >= 0 && state(free) == DELETED;
+        if (!reusesTombstone && (free < 0 || size + tombstones >= maxFill)) {
+            if (tombstones > 0) {
+                compact(); // The room is taken by tombstones: reclaim it and retry once
+                return add(key);
+            }
+            throw new IllegalStateException("Hash table full: " + size + " keys in " + capacity + " slots");
+        }
+        if (strategy == IntOpenHashTable.Strategy.BRENT && !reusesTombstone) {
+            insertBrent(key, hash);
+        } else {
+            place(free, key); // Also for Brent: a tombstone on the key's own sequence needs no relocation
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Removes a key (leaves a tombstone).
+     * @return false if the key was absent
+     */
+    @Override
+    public boolean remove(int key) {
+        checkWritable();
+        long pos = indexOf(key);
+        if (pos < 0) {
+            return false;
+        }
+        setState(pos, DELETED);
+        size--;
+        tombstones++;
+        writeCounters();
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1.
+     */
+    public long indexOf(int key) {
+        long hash = mix64(key);
+        long step = step(hash);
+        long pos = hash & mask;
+        for (long i = 1; i <= capacity; i++) {
+            byte state = state(pos);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == FULL && key(pos) == key) {
+                return pos;
+            }
+            pos = next(pos, i, step);
+        }
+        return -1;
+    }
+
+    /**
+     * Removes all tombstones in place: every key is re-inserted along its probe sequence, swapping
+     * with keys that have not been re-inserted yet, so no second buffer and no file growth is needed.
+     * Brent tables are re-inserted with plain double hashing, which keeps every key findable.
+     * A header flag marks the rewrite; a file whose compaction was interrupted (e.g. by a crash)
+     * is rejected when opened. Called by add when needed.
+     * Time Complexity: O(capacity) expected
+     */
+    public void compact() {
+        checkWritable();
+        if (tombstones == 0) {
+            return;
+        }
+        regions[0].putInt(OFFSET_COMPACTING, 1);
+        for (long slot = 0; slot < capacity; slot++) {
+            setState(slot, state(slot) == FULL ? MOVING : EMPTY);
+        }
+        for (long slot = 0; slot < capacity; slot++) {
+            if (state(slot) != MOVING) {
+                continue;
+            }
+            int key = key(slot);
+            setState(slot, EMPTY);
+            while (true) {
+                long pos = firstNotFull(key);
+                boolean displaced = state(pos) == MOVING;
+                int displacedKey = key(pos);
+                setKey(pos, key);
+                setState(pos, FULL);
+                if (!displaced) {
+                    break;
+                }
+                key = displacedKey; // Continue with the key that was sitting there
+            }
+        }
+        tombstones = 0;
+        writeCounters();
+        regions[0].putInt(OFFSET_COMPACTING, 0);
+    }
+
+    /**
+     * Flushes all changes to the storage device (fsync).
+     */
+    public void force() {
+        if (!readOnly) {
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+        }
+    }
+
+    /**
+     * Closes the file. Unforced changes still reach the file through the OS, but are not
+     * guaranteed to survive a machine crash.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public int size() { return (int) size; }
+
+    /** Number of slots; may exceed the int range of {@link #capacity()}. */
+    public long slotCount() { return capacity; }
+
+    @Override
+    public int capacity() { return (int) Math.min(capacity, Integer.MAX_VALUE); }
+
+    public IntOpenHashTable.Strategy getStrategy() { return strategy; }
+
+    public boolean isReadOnly() { return readOnly; }
+
+    // --- HashTable: raw slot access (slot indices below 2^31) ---
+
+    @Override
+    public boolean isFree(int index) {
+        return state(index) == EMPTY;
+    }
+
+    @Override
+    public boolean isDeleted(int index) {
+        return state(index) == DELETED;
+    }
+
+    @Override
+    public int get(int index) {
+        return key(index);
+    }
+
+    @Override
+    public void insert(int key, int index) {
+        checkWritable();
+        if (state(index) != FULL) {
+            place(index, key);
+        } else {
+            setKey(index, key);
+        }
+    }
+
+    @Override
+    public void replace(int key, int index) {
+        insert(key, index);
+    }
+
+    // --- Internals ---
+
+    /**
+     * Brent's rule (as in CollisionResolution.insertBrentOptimized) on the mapped slots.
+     * The caller has checked that the key is absent and a free slot exists.
+     */
+    private void insertBrent(int key, long hash) {
+        long step = step(hash);
+        long pos = hash & mask;
+        while (state(pos) == FULL) {
+            int existingKey = key(pos);
+            long existingStep = step(mix64(existingKey));
+            long nextPosNew = (pos + step) & mask;
+            long nextPosExisting = (pos + existingStep) & mask;
+
+            if (state(nextPosNew) != FULL || state(nextPosExisting) == FULL) {
+                pos = nextPosNew;
+            } else {
+                setKey(pos, key);
+                key = existingKey;
+                step = existingStep;
+                pos = nextPosExisting;
+            }
+        }
+        place(pos, key);
+    }
+
+    /** During compact(): first slot of the key's probe sequence that is EMPTY or MOVING. */
+    private long firstNotFull(int key) {
+        long hash = mix64(key);
+        long step = step(hash);
+        long pos = hash & mask;
+        for (long i = 1; state(pos) == FULL; i++) {
+            pos = next(pos, i, step);
+        }
+        return pos;
+    }
+
+    private long step(long hash) {
+        return strategy == IntOpenHashTable.Strategy.DOUBLE_HASHING || strategy == IntOpenHashTable.Strategy.BRENT
+                ? ((hash >>> 32) | 1) & mask
+                : 1;
+    }
+
+    /** Slot after pos; quadratic probing grows by i per probe (triangular numbers). */
+    private long next(long pos, long i, long step) {
+        return (pos + (strategy == IntOpenHashTable.Strategy.QUADRATIC ? i : step)) & mask;
+    }
+
+    private void place(long pos, int key) {
+        if (state(pos) == DELETED) {
+            tombstones--;
+        }
+        setKey(pos, key);
+        setState(pos, FULL);
+        size++;
+        writeCounters();
+    }
+
+    private void writeCounters() {
+        regions[0].putLong(OFFSET_SIZE, size);
+        regions[0].putLong(OFFSET_TOMBSTONES, tombstones);
+    }
+
+    private int key(long slot) {
+        long offset = HEADER_BYTES + 4 * slot;
+        return regions[(int) (offset / MAP_CHUNK_BYTES)].getInt((int) (offset % MAP_CHUNK_BYTES));
+    }
+
+    private void setKey(long slot, int key) {
+        long offset = HEADER_BYTES + 4 * slot;
+        regions[(int) (offset / MAP_CHUNK_BYTES)].putInt((int) (offset % MAP_CHUNK_BYTES), key);
+    }
+
+    private byte state(long slot) {
+        long offset = statesOffset + slot;
+        return regions[(int) (offset / MAP_CHUNK_BYTES)].get((int) (offset % MAP_CHUNK_BYTES));
+    }
+
+    private void setState(long slot, byte state) {
+        long offset = statesOffset + slot;
+        regions[(int) (offset / MAP_CHUNK_BYTES)].put((int) (offset % MAP_CHUNK_BYTES), state);
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Hash table was opened read-only");
+        }
+    }
+
+    private static long fileBytes(long capacity) {
+        return HEADER_BYTES + 5 * capacity;
+    }
+
+    /** Murmur3 64-bit finalizer; the low bits select the slot, the high bits the double hashing step. */
+    private static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
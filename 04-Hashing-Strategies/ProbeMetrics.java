@@ -0,0 +1,196 @@
+import java.util.Arrays;
+
+/**
+ * Opt-in probe statistics for CollisionResolution. Attach an instance with
+ * CollisionResolution.setMetrics; when none is attached the only cost is a null check.
+ * * Records probes per insert and per lookup as histograms (bucket i counts operations with
+ * i + 1 probes, the last bucket collects everything longer), Brent relocations and failed
+ * inserts. Table-wide properties (load factor, longest cluster) are measured on demand by
+ * {@link #observeTable}. {@link #snapshot()} returns an immutable copy for export.
+ * Not thread-safe, like CollisionResolution itself.
+ */
+public class ProbeMetrics {
+
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private final long[] insertProbes = new long[HISTOGRAM_BUCKETS];
+    private final long[] lookupProbes = new long[HISTOGRAM_BUCKETS];
+    private long failedInserts;
+    private long brentRelocations;
+    private double loadFactor;
+    private int longestCluster;
+
+    public void recordInsert(int probes, boolean success) {
+        insertProbes[bucket(probes)]++;
+        if (!success) {
+            failedInserts++;
+        }
+    }
+
+    public void recordLookup(int probes) {
+        lookupProbes[bucket(probes)]++;
+    }
+
+    public void recordRelocation() {
+        brentRelocations++;
+    }
+
+    /**
+     * Scans the table once for its load factor and the longest run of occupied slots
+     * (wrapping around the end). Long runs are what makes linear probing slow.
+     * Tombstones count as occupied, since probe sequences have to pass them.
+     * Time Complexity: O(capacity)
+     */
+    public void observeTable(HashTable table, int capacity) {
+        int occupied = 0;
+        int run = 0;
+        int longest = 0;
+        int leadingRun = -1; // Run at the start of the table, joined with the one at the end
+        for (int i = 0; i < capacity; i++) {
+            if (table.isFree(i)) {
+                if (leadingRun < 0) {
+                    leadingRun = run;
+                }
+                run = 0;
+            } else {
+                occupied++;
+                run++;
+                longest = Math.max(longest, run);
+            }
+        }
+        if (leadingRun >= 0) {
+            longest = Math.max(longest, run + leadingRun);
+        }
+        this.loadFactor = capacity == 0 ? 0 : occupied / (double) capacity;
+        this.longestCluster = longest;
+    }
+
+    public void reset() {
+        Arrays.fill(insertProbes, 0);
+        Arrays.fill(lookupProbes, 0);
+        failedInserts = 0;
+        brentRelocations = 0;
+        loadFactor = 0;
+        longestCluster = 0;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(insertProbes.clone(), lookupProbes.clone(), failedInserts, brentRelocations,
+                loadFactor, longestCluster);
+    }
+
+    private static int bucket(int probes) {
+        return Math.min(Math.max(probes, 1), HISTOGRAM_BUCKETS) - 1;
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] insertProbes;
+        private final long[] lookupProbes;
+        private final long failedInserts;
+        private final long brentRelocations;
+        private final double loadFactor;
+        private final int longestCluster;
+
+        Snapshot(long[] insertProbes, long[] lookupProbes, long failedInserts, long brentRelocations,
+                 double loadFactor, int longestCluster) {
+            this.insertProbes = insertProbes;
+            this.lookupProbes = lookupProbes;
+            this.failedInserts = failedInserts;
+            this.brentRelocations = brentRelocations;
+            this.loadFactor = loadFactor;
+            this.longestCluster = longestCluster;
+        }
+
+        /** Histogram of probes per insert: entry i counts inserts with i + 1 probes (last: or more). */
+        public long[] getInsertProbes() { return insertProbes.clone(); }
+
+        /** Histogram of probes per lookup: entry i counts lookups with i + 1 probes (last: or more). */
+        public long[] getLookupProbes() { return lookupProbes.clone(); }
+
+        public long getInserts() { return total(insertProbes); }
+
+        public long getLookups() { return total(lookupProbes); }
+
+        public long getFailedInserts() { return failedInserts; }
+
+        /** Failed inserts (table full / probe sequence exhausted) per insert attempt. */
+        public double getFailedInsertRate() {
+            long inserts = getInserts();
+            return inserts == 0 ? 0 : failedInserts / (double) inserts;
+        }
+
+        public long getBrentRelocations() { return brentRelocations; }
+
+        /** As of the last {@link ProbeMetrics#observeTable}. */
+        public double getLoadFactor() { return loadFactor; }
+
+        /** As of the last {@link ProbeMetrics#observeTable}. */
+        public int getLongestCluster() { return longestCluster; }
+
+        public double meanInsertProbes() { return mean(insertProbes); }
+
+        public double meanLookupProbes() { return mean(lookupProbes); }
+
+        /** Smallest probe count covering the given fraction (e.g. 0.99) of inserts. */
+        public int insertPercentile(double fraction) { return percentile(insertProbes, fraction); }
+
+        /** Smallest probe count covering the given fraction (e.g. 0.99) of lookups. */
+        public int lookupPercentile(double fraction) { return percentile(lookupProbes, fraction); }
+
+        /**
+         * One "name=value" line per metric, for logs or spreadsheets.
+         */
+        @Override
+        public String toString() {
+            return "inserts=" + getInserts()
+                    + "\nfailedInsertRate=" + getFailedInsertRate()
+                    + "\ninsertProbes.mean=" + meanInsertProbes()
+                    + "\ninsertProbes.p99=" + insertPercentile(0.99)
+                    + "\nlookups=" + getLookups()
+                    + "\nlookupProbes.mean=" + meanLookupProbes()
+                    + "\nlookupProbes.p99=" + lookupPercentile(0.99)
+                    + "\nbrentRelocations=" + brentRelocations
+                    + "\nloadFactor=" + loadFactor
+                    + "\nlongestCluster=" + longestCluster
+                    + "\ninsertProbes.histogram=" + Arrays.toString(insertProbes)
+                    + "\nlookupProbes.histogram=" + Arrays.toString(lookupProbes);
+        }
+
+        private static long total(long[] histogram) {
+            long sum = 0;
+            for (long count : histogram) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        private static double mean(long[] histogram) {
+            long count = 0;
+            long probes = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                count += histogram[i];
+                probes += histogram[i] * (i + 1);
+            }
+            return count == 0 ? 0 : probes / (double) count;
+        }
+
+        private static int percentile(long[] histogram, double fraction) {
+            long count = total(histogram);
+            if (count == 0) {
+                return 0;
+            }
+            long needed = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= needed) {
+                    return i + 1;
+                }
+            }
+            return histogram.length;
+        }
+    }
+}
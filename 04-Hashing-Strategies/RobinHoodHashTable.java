@@ -0,0 +1,200 @@
+/**
+ * Robin Hood hashing for int keys: linear probing where an inserted key takes the slot of any
+ * resident that is closer to its home slot ("richer"), which then moves on. This evens out
+ * probe distances, so the worst case stays short even at high load factors.
+ * * Each slot stores its key's probe distance, which enables:
+ * - Early-exit misses: a lookup stops as soon as it meets a key closer to home than itself.
+ * - Backward-shift deletion: no tombstones, the following cluster moves one slot back.
+ * Capacity is a power of two with a mixed hash, so indexing is a bit mask.
+ */
+public class RobinHoodHashTable implements IntHashTable, HashTable {
+
+    /** Distances are stored in a byte; longer chains trigger a resize instead. */
+    private static final int MAX_DISTANCE = 126;
+
+    private final double loadFactor;
+
+    private int[] keys;
+    private byte[] distances; // 0 = empty, otherwise probe distance + 1
+    private int mask;
+    private int size;
+    private int maxFill;
+
+    public RobinHoodHashTable() {
+        this(16, 0.875);
+    }
+
+    /**
+     * * @param initialCapacity Minimum number of slots (rounded up to a power of two)
+     * @param loadFactor Maximum fill ratio, in (0, 1)
+     */
+    public RobinHoodHashTable(int initialCapacity, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Inserts a key.
+     * Time Complexity: O(1) expected
+     * @return false if the key was already present
+     */
+    @Override
+    public boolean add(int key) {
+        if (contains(key)) {
+            return false;
+        }
+        if (size >= maxFill) {
+            rebuild(keys.length * 2);
+        }
+        insertNew(key);
+        return true;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Removes a key by shifting the rest of its cluster back (no tombstones).
+     * @return false if the key was absent
+     */
+    @Override
+    public boolean remove(int key) {
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return false;
+        }
+        int next = (pos + 1) & mask;
+        // Keys with distance > 0 (stored > 1) may move one slot closer to home
+        while (distances[next] > 1) {
+            keys[pos] = keys[next];
+            distances[pos] = (byte) (distances[next] - 1);
+            pos = next;
+            next = (next + 1) & mask;
+        }
+        distances[pos] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1.
+     * A miss ends at an empty slot or at a resident closer to its home than the search is.
+     */
+    public int indexOf(int key) {
+        int pos = mix(key) & mask;
+        for (int distance = 1; distance <= distances[pos]; distance++) {
+            if (keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return keys.length; }
+
+    // --- HashTable: raw slot access (does not restore the Robin Hood ordering) ---
+
+    @Override
+    public boolean isFree(int index) {
+        return distances[index] == 0;
+    }
+
+    @Override
+    public int get(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public void insert(int key, int index) {
+        int distance = ((index - mix(key)) & mask) + 1;
+        if (distance > MAX_DISTANCE + 1) {
+            throw new IllegalArgumentException("Slot " + index + " is too far from the key's home slot");
+        }
+        if (distances[index] == 0) {
+            size++;
+        }
+        keys[index] = key;
+        distances[index] = (byte) distance;
+    }
+
+    @Override
+    public void replace(int key, int index) {
+        insert(key, index);
+    }
+
+    // --- Internals ---
+
+    /**
+     * Inserts a key known to be absent. The carried key swaps with every richer resident.
+     */
+    private void insertNew(int key) {
+        while (true) {
+            int pos = mix(key) & mask;
+            int distance = 1;
+            while (distance <= MAX_DISTANCE + 1) {
+                int resident = distances[pos];
+                if (resident == 0) {
+                    keys[pos] = key;
+                    distances[pos] = (byte) distance;
+                    size++;
+                    return;
+                }
+                if (resident < distance) {
+                    // Resident is richer: take its slot and carry it on
+                    int displaced = keys[pos];
+                    keys[pos] = key;
+                    distances[pos] = (byte) distance;
+                    key = displaced;
+                    distance = resident;
+                }
+                pos = (pos + 1) & mask;
+                distance++;
+            }
+            rebuild(keys.length * 2); // Cluster too long for a byte distance; key is still pending
+        }
+    }
+
+    private void rebuild(int newCapacity) {
+        int[] oldKeys = keys;
+        byte[] oldDistances = distances;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldDistances[i] != 0) {
+                insertNew(oldKeys[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        distances = new byte[capacity];
+        mask = capacity - 1;
+        size = 0;
+        maxFill = Math.max(1, Math.min(capacity - 1, (int) (capacity * loadFactor)));
+    }
+
+    private static int tableSizeFor(int n) {
+        return n <= 2 ? 2 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /** Murmur3 finalizer: spreads sequential keys over the table. */
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
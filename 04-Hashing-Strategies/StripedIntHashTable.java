@@ -0,0 +1,96 @@
+/**
+ * Thread-safe int hash table built from lock-striped IntOpenHashTable segments.
+ * The upper bits of the mixed hash select a segment, each guarded by its own monitor, so
+ * threads working on different segments never contend. Inside a segment everything
+ * IntOpenHashTable offers is available, including Brent's relocation, tombstones and resizing,
+ * which a lock-free table cannot do without stopping all threads.
+ * * Segments use power-of-two capacities, whose slot index comes from the low hash bits,
+ * so segment choice and slot choice are independent.
+ */
+public class StripedIntHashTable implements IntHashTable {
+
+    private final IntOpenHashTable[] segments;
+    private final int segmentShift;
+
+    /**
+     * Uses 4 segments per available processor.
+     */
+    public StripedIntHashTable(IntOpenHashTable.Strategy strategy) {
+        this(strategy, 4 * Runtime.getRuntime().availableProcessors(), 1024, 0.75);
+    }
+
+    /**
+     * * @param strategy The probing strategy of every segment
+     * @param segmentCount Number of locks (rounded up to a power of two)
+     * @param initialCapacity Initial total number of slots, spread over the segments
+     * @param loadFactor Maximum fill ratio of each segment, in (0, 1)
+     */
+    public StripedIntHashTable(IntOpenHashTable.Strategy strategy, int segmentCount,
+                               int initialCapacity, double loadFactor) {
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        this.segments = new IntOpenHashTable[count];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perSegment = Math.max(4, initialCapacity / count);
+        for (int s = 0; s < count; s++) {
+            segments[s] = new IntOpenHashTable(strategy, perSegment, loadFactor, true);
+        }
+    }
+
+    @Override
+    public boolean add(int key) {
+        IntOpenHashTable segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.add(key);
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        IntOpenHashTable segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.contains(key);
+        }
+    }
+
+    @Override
+    public boolean remove(int key) {
+        IntOpenHashTable segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Sum over all segments, each read under its lock (not a global snapshot).
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (IntOpenHashTable segment : segments) {
+            synchronized (segment) {
+                total += segment.size();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int capacity() {
+        int total = 0;
+        for (IntOpenHashTable segment : segments) {
+            synchronized (segment) {
+                total += segment.capacity();
+            }
+        }
+        return total;
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    private IntOpenHashTable segmentFor(int key) {
+        // Shifting an int by 32 is a no-op, so a single segment needs the explicit check
+        return segments.length == 1 ? segments[0] : segments[CollisionResolution.mix(key) >>> segmentShift];
+    }
+}
@@ -0,0 +1,241 @@
+import java.util.Arrays;
+
+/**
+ * SwissTable-style hash table for int keys.
+ * Slots form groups of 8; each slot has a control byte holding either EMPTY, DELETED or
+ * the low 7 bits of the key's hash (H2). The 8 control bytes of a group are packed in one long,
+ * so a probe step compares a whole group at once with SWAR bit tricks, and keys are only
+ * read for the (rare) slots whose H2 matches.
+ * * Groups are probed quadratically (triangular numbers), which visits every group of the
+ * power-of-two table. A lookup miss ends at the first group containing an EMPTY slot.
+ */
+public class SwissHashTable implements IntHashTable, HashTable {
+
+    private static final int GROUP_WIDTH = 8;
+
+    private static final int EMPTY = 0x80;   // 1000_0000
+    private static final int DELETED = 0xFE; // 1111_1110; FULL bytes are 0xxx_xxxx
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private int[] keys;
+    private long[] control; // Control bytes, group g in control[g], slot i at byte i
+    private int groupMask;
+    private int size;
+    private int deleted;
+    private int maxFill;    // 7/8 of the slots
+
+    public SwissHashTable() {
+        this(16);
+    }
+
+    /**
+     * * @param initialCapacity Minimum number of slots (rounded up to a power-of-two number of groups)
+     */
+    public SwissHashTable(int initialCapacity) {
+        int groups = Math.max(1, (initialCapacity + GROUP_WIDTH - 1) / GROUP_WIDTH);
+        allocate(groups <= 1 ? 1 : Integer.highestOneBit(groups - 1) << 1);
+    }
+
+    /**
+     * Inserts a key.
+     * Time Complexity: O(1) expected
+     * @return false if the key was already present
+     */
+    @Override
+    public boolean add(int key) {
+        int hash = mix(key);
+        if (find(key, hash) >= 0) {
+            return false;
+        }
+        if (size + deleted >= maxFill) {
+            // Mostly tombstones: clean up in place, otherwise double
+            rebuild(size + 1 > maxFill / 2 ? control.length * 2 : control.length);
+        }
+        insertNew(key, hash);
+        return true;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return find(key, mix(key)) >= 0;
+    }
+
+    /**
+     * Removes a key. The slot becomes EMPTY if its group still has an EMPTY slot (no probe
+     * sequence can have continued past this group), otherwise a DELETED tombstone.
+     * @return false if the key was absent
+     */
+    @Override
+    public boolean remove(int key) {
+        int slot = find(key, mix(key));
+        if (slot < 0) {
+            return false;
+        }
+        boolean groupHasEmpty = matchEmpty(control[slot >>> 3]) != 0;
+        setControl(slot, groupHasEmpty ? EMPTY : DELETED);
+        if (!groupHasEmpty) {
+            deleted++;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1.
+     */
+    public int indexOf(int key) {
+        return find(key, mix(key));
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int capacity() { return keys.length; }
+
+    // --- HashTable: raw slot access ---
+
+    @Override
+    public boolean isFree(int index) {
+        return controlByte(index) == EMPTY;
+    }
+
+    @Override
+    public boolean isDeleted(int index) {
+        return controlByte(index) == DELETED;
+    }
+
+    @Override
+    public int get(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public void insert(int key, int index) {
+        int previous = controlByte(index);
+        if ((previous & EMPTY) != 0) {
+            size++;
+            if (previous == DELETED) {
+                deleted--;
+            }
+        }
+        keys[index] = key;
+        setControl(index, h2(mix(key)));
+    }
+
+    @Override
+    public void replace(int key, int index) {
+        insert(key, index);
+    }
+
+    // --- Internals ---
+
+    private int find(int key, int hash) {
+        int group = h1(hash) & groupMask;
+        long pattern = LSBS * h2(hash);
+        for (int step = 1; ; step++) {
+            long word = control[group];
+            for (long matches = matchByte(word, pattern); matches != 0; matches &= matches - 1) {
+                int slot = (group << 3) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(word) != 0 || step > groupMask) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Places a key known to be absent into the first EMPTY or DELETED slot of its probe sequence.
+     * The load limit guarantees such a slot exists.
+     */
+    private void insertNew(int key, int hash) {
+        int group = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = control[group] & MSBS; // EMPTY or DELETED
+            if (free != 0) {
+                int slot = (group << 3) + (Long.numberOfTrailingZeros(free) >>> 3);
+                if (controlByte(slot) == DELETED) {
+                    deleted--;
+                }
+                keys[slot] = key;
+                setControl(slot, h2(hash));
+                size++;
+                return;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Bytes equal to the pattern's byte. Sets the high bit of each zero byte of word ^ pattern.
+     * May report a false positive right above a true match (borrow), which the key check filters.
+     */
+    private static long matchByte(long word, long pattern) {
+        long x = word ^ pattern;
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /** EMPTY bytes: high bit set and bit 1 clear (DELETED has bit 1 set). */
+    private static long matchEmpty(long word) {
+        return word & ~(word << 6) & MSBS;
+    }
+
+    private int controlByte(int slot) {
+        return (int) (control[slot >>> 3] >>> ((slot & 7) << 3)) & 0xFF;
+    }
+
+    private void setControl(int slot, int value) {
+        int shift = (slot & 7) << 3;
+        int group = slot >>> 3;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    private void rebuild(int groups) {
+        int[] oldKeys = keys;
+        long[] oldControl = control;
+        allocate(groups);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            int b = (int) (oldControl[slot >>> 3] >>> ((slot & 7) << 3)) & 0xFF;
+            if ((b & EMPTY) == 0) {
+                insertNew(oldKeys[slot], mix(oldKeys[slot]));
+            }
+        }
+    }
+
+    private void allocate(int groups) {
+        keys = new int[groups * GROUP_WIDTH];
+        control = new long[groups];
+        Arrays.fill(control, LSBS * EMPTY);
+        groupMask = groups - 1;
+        size = 0;
+        deleted = 0;
+        maxFill = keys.length - keys.length / 8;
+    }
+
+    /** Group selector: the upper 25 bits of the hash. */
+    private static int h1(int hash) {
+        return hash >>> 7;
+    }
+
+    /** Control byte of a full slot: the lower 7 bits of the hash. */
+    private static int h2(int hash) {
+        return hash & 0x7F;
+    }
+
+    /** Murmur3 finalizer: spreads sequential keys over the table. */
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}